@@ -1,5 +1,18 @@
 package com.zerobase.Account.aop;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Collection;
+import java.util.Collections;
+
 public interface AccountLockIdInterface {
     String getAccountNumber();
+
+    /**
+     * 함께 잠가야 하는 모든 계좌 (이체처럼 여러 계좌를 변경하는 요청은 재정의)
+     */
+    @JsonIgnore
+    default Collection<String> getAccountNumbers() {
+        return Collections.singletonList(getAccountNumber());
+    }
 }
@@ -0,0 +1,14 @@
+package com.zerobase.Account.aop;
+
+import java.lang.annotation.*;
+
+/**
+ * Idempotency-Key 헤더가 있으면 같은 key 의 재시도에 처음 응답을 그대로 돌려준다.
+ * (IdempotencyAspect 가 @AccountLock 보다 먼저 처리하므로 재시도는 락을 잡지 않는다)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface Idempotent {
+}
@@ -0,0 +1,51 @@
+package com.zerobase.Account.cache;
+
+import com.zerobase.Account.domain.Account;
+import com.zerobase.Account.domain.AccountUser;
+import com.zerobase.Account.type.AccountStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 잔액 검증에 필요한 계좌 정보의 불변 사본
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class AccountSnapshot {
+    private final Long id;
+    private final String accountNumber;
+    private final Long ownerId;
+    private final AccountStatus accountStatus;
+    private final Long balance;
+    private final Long version;
+
+    public static AccountSnapshot of(Account account, Long version) {
+        return AccountSnapshot.builder()
+                .id(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .ownerId(account.getAccountUser() == null ? null : account.getAccountUser().getId())
+                .accountStatus(account.getAccountStatus())
+                .balance(account.getBalance())
+                .version(version)
+                .build();
+    }
+
+    /**
+     * 검증 코드에 그대로 넘길 수 있는 분리(detached) 상태의 계좌
+     */
+    public Account toAccount() {
+        AccountUser owner = new AccountUser();
+        owner.setId(ownerId);
+        Account account = Account.builder()
+                .accountUser(owner)
+                .accountNumber(accountNumber)
+                .accountStatus(accountStatus)
+                .balance(balance)
+                .version(version)
+                .build();
+        account.setId(id);
+        return account;
+    }
+}
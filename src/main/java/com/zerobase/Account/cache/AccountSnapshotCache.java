@@ -0,0 +1,76 @@
+package com.zerobase.Account.cache;
+
+import com.zerobase.Account.config.CacheProperties;
+import com.zerobase.Account.domain.Account;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * 계좌번호 -> 계좌 스냅샷 캐시
+ * - 잔액 변경은 커밋 이후 write-through 하고, version 을 알 수 없는 변경은 무효화한다.
+ * - strict  : version 조건부 UPDATE 로 확인되는 경로(optimistic)에서만 사용하고,
+ *             version 이 맞지 않으면 DB 에서 다시 읽는다.
+ * - relaxed : 실패 거래 저장처럼 TTL 이내의 잔액이면 충분한 경로에서도 사용한다.
+ */
+@Component
+public class AccountSnapshotCache {
+    static final String CACHE_NAME = "accountSnapshot";
+
+    private final CacheProperties cacheProperties;
+    private final NearCache<String, AccountSnapshot> nearCache;
+    private final Counter hits;
+    private final Counter misses;
+
+    public AccountSnapshotCache(CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.cacheProperties = cacheProperties;
+        CacheProperties.Spec spec = cacheProperties.getAccountSnapshot();
+        this.nearCache = new NearCache<>(spec.getMaxSize(), spec.getTtl());
+        this.hits = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "miss");
+    }
+
+    public Optional<AccountSnapshot> get(String accountNumber) {
+        Optional<AccountSnapshot> snapshot = nearCache.get(accountNumber);
+        if (snapshot.isPresent()) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return snapshot;
+    }
+
+    public boolean isRelaxed() {
+        return cacheProperties.getSnapshotConsistency() == CacheProperties.SnapshotConsistency.RELAXED;
+    }
+
+    /**
+     * DB 에서 읽은 (커밋된) 상태를 그대로 보관한다.
+     */
+    public void load(Account account) {
+        if (account.getVersion() != null) {
+            nearCache.put(account.getAccountNumber(), AccountSnapshot.of(account, account.getVersion()));
+        }
+    }
+
+    /**
+     * 변경 후 상태를 커밋 이후에 반영한다. version 을 모르면 무효화한다.
+     */
+    public void writeThrough(Account account, Long version) {
+        String accountNumber = account.getAccountNumber();
+        if (version == null) {
+            evict(accountNumber);
+            return;
+        }
+        AccountSnapshot snapshot = AccountSnapshot.of(account, version);
+        AfterCommit.run(() -> nearCache.put(accountNumber, snapshot));
+    }
+
+    public void evict(String accountNumber) {
+        // 커밋 전에도 바로 지워서 같은 노드의 다른 요청이 이전 값을 쓰지 않게 한다.
+        nearCache.invalidate(accountNumber);
+        AfterCommit.run(() -> nearCache.invalidate(accountNumber));
+    }
+}
@@ -0,0 +1,69 @@
+package com.zerobase.Account.cache;
+
+import com.zerobase.Account.config.CacheProperties;
+import com.zerobase.Account.domain.AccountUser;
+import com.zerobase.Account.repository.AccountUserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * AccountUserRepository 앞단의 read-through 캐시
+ * 사용자 정보는 거의 바뀌지 않으므로 노드 로컬에 보관한다.
+ * 지금은 사용자 정보를 바꾸는 경로가 없으므로 다른 노드의 캐시는 ttl 로만 만료된다.
+ * 변경 경로를 추가하면 evict 와 함께 노드 간 무효화도 추가해야 한다.
+ */
+@Component
+public class AccountUserCache {
+    static final String CACHE_NAME = "accountUser";
+
+    private final AccountUserRepository accountUserRepository;
+    private final NearCache<Long, AccountUser> nearCache;
+    private final Counter hits;
+    private final Counter misses;
+
+    public AccountUserCache(AccountUserRepository accountUserRepository,
+                            CacheProperties cacheProperties,
+                            MeterRegistry meterRegistry) {
+        this.accountUserRepository = accountUserRepository;
+        CacheProperties.Spec spec = cacheProperties.getAccountUser();
+        this.nearCache = new NearCache<>(spec.getMaxSize(), spec.getTtl());
+        this.hits = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "miss");
+    }
+
+    public Optional<AccountUser> findById(Long userId) {
+        Optional<AccountUser> cached = nearCache.get(userId);
+        if (cached.isPresent()) {
+            hits.increment();
+            return cached.map(AccountUserCache::copy);
+        }
+        misses.increment();
+
+        Optional<AccountUser> loaded = accountUserRepository.findById(userId);
+        loaded.ifPresent(accountUser -> nearCache.put(userId, copy(accountUser)));
+        return loaded;
+    }
+
+    /**
+     * 이 노드의 캐시에서만 제거한다.
+     */
+    public void evict(Long userId) {
+        nearCache.invalidate(userId);
+    }
+
+    /**
+     * 캐시에 보관된 인스턴스가 호출자에 의해 변경되지 않도록 복사본을 주고받는다.
+     */
+    private static AccountUser copy(AccountUser source) {
+        AccountUser accountUser = AccountUser.builder()
+                .name(source.getName())
+                .build();
+        accountUser.setId(source.getId());
+        accountUser.setCreatedAt(source.getCreatedAt());
+        accountUser.setUpdatedAt(source.getUpdatedAt());
+        return accountUser;
+    }
+}
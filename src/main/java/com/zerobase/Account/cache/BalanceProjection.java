@@ -0,0 +1,234 @@
+package com.zerobase.Account.cache;
+
+import com.zerobase.Account.config.CacheProperties;
+import com.zerobase.Account.domain.Account;
+import com.zerobase.Account.dto.AccountBalanceRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 사용자별 계좌 잔액 projection (GET /account 용)
+ * key   : balance:user:{userId} (Redis hash)
+ * field : 계좌번호, value : "{version}:{balance}"
+ * 1. 조회 시 hash 가 없으면 DB 에서 읽어 사용자의 모든 계좌로 다시 만든다. (rebuild)
+ * 2. 잔액 변경은 커밋 이후 반영하고, 저장된 version 보다 오래된 값은 무시한다. (커밋 순서 역전 대비)
+ * 3. hash 가 없으면 변경을 반영하지 않는다. 일부 계좌만 있는 hash 가 생기지 않도록.
+ * version 을 모르는 변경은 hash 를 지워 다음 조회 때 다시 만든다.
+ */
+@Slf4j
+@Component
+public class BalanceProjection {
+    static final String CACHE_NAME = "balanceProjection";
+    private static final String KEY_PREFIX = "balance:user:";
+    // 계좌가 없는 사용자도 hash 가 존재하도록 rebuild 때 넣는 field
+    private static final String COMPLETE_FIELD = "#";
+
+    private static final String UPDATE_SCRIPT =
+            "if redis.call('exists', KEYS[1]) == 0 then return 0; end; " +
+                    "local current = redis.call('hget', KEYS[1], ARGV[1]); " +
+                    "if current and tonumber(string.match(current, '^(%d+):')) > tonumber(ARGV[2]) then " +
+                    "return 0; end; " +
+                    "redis.call('hset', KEYS[1], ARGV[1], ARGV[2] .. ':' .. ARGV[3]); " +
+                    "return 1;";
+    private static final String REBUILD_SCRIPT =
+            "for i = 2, #ARGV, 3 do " +
+                    "local current = redis.call('hget', KEYS[1], ARGV[i]); " +
+                    "if not current or tonumber(string.match(current, '^(%d+):')) <= tonumber(ARGV[i + 1]) then " +
+                    "redis.call('hset', KEYS[1], ARGV[i], ARGV[i + 1] .. ':' .. ARGV[i + 2]); end; " +
+                    "end; " +
+                    "redis.call('hset', KEYS[1], '" + COMPLETE_FIELD + "', '0'); " +
+                    "redis.call('pexpire', KEYS[1], ARGV[1]); " +
+                    "return 1;";
+
+    private final CacheProperties.BalanceProjection properties;
+    private final ObjectProvider<RedissonClient> redissonClient;
+    private final Counter hits;
+    private final Counter misses;
+
+    public BalanceProjection(CacheProperties cacheProperties,
+                             ObjectProvider<RedissonClient> redissonClient,
+                             MeterRegistry meterRegistry) {
+        this.properties = cacheProperties.getBalanceProjection();
+        this.redissonClient = redissonClient;
+        this.hits = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "miss");
+    }
+
+    /**
+     * @return 계좌번호 순으로 정렬된 계좌번호 -> 잔액 (hash 가 없으면 empty)
+     */
+    public Optional<Map<String, Long>> get(Long userId) {
+        RedissonClient client = client();
+        if (client == null) {
+            return Optional.empty();
+        }
+        Map<String, String> values;
+        try {
+            values = client.<String, String>getMap(getKey(userId), StringCodec.INSTANCE).readAllMap();
+        } catch (Exception e) {
+            log.error("Failed to read balance projection for userId : {}", userId, e);
+            return Optional.empty();
+        }
+        if (values.isEmpty()) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+
+        Map<String, Long> balances = new TreeMap<>();
+        values.forEach((accountNumber, value) -> {
+            if (!COMPLETE_FIELD.equals(accountNumber)) {
+                balances.put(accountNumber, parseBalance(value));
+            }
+        });
+        return Optional.of(balances);
+    }
+
+    /**
+     * DB 에서 읽은 사용자의 모든 계좌로 hash 를 만든다.
+     */
+    public void rebuild(Long userId, List<Account> accounts) {
+        RedissonClient client = client();
+        if (client == null) {
+            return;
+        }
+        List<Object> values = new ArrayList<>(accounts.size() * 3 + 1);
+        values.add(String.valueOf(properties.getTtl().toMillis()));
+        for (Account account : accounts) {
+            if (account.getVersion() == null) {
+                // version 을 모르면 이후 변경과 순서를 비교할 수 없으므로 만들지 않는다.
+                return;
+            }
+            values.add(account.getAccountNumber());
+            values.add(String.valueOf(account.getVersion()));
+            values.add(String.valueOf(account.getBalance()));
+        }
+        try {
+            client.getScript(StringCodec.INSTANCE).eval(getKey(userId), RScript.Mode.READ_WRITE,
+                    REBUILD_SCRIPT, RScript.ReturnType.BOOLEAN,
+                    Collections.singletonList(getKey(userId)), values.toArray());
+        } catch (Exception e) {
+            log.error("Failed to rebuild balance projection for userId : {}", userId, e);
+        }
+    }
+
+    /**
+     * 변경 후 잔액을 커밋 이후에 반영한다.
+     */
+    public void update(Account account, Long version) {
+        if (account.getAccountUser() == null) {
+            return;
+        }
+        update(account.getAccountUser().getId(), account.getAccountNumber(),
+                account.getBalance(), version);
+    }
+
+    public void update(Long userId, String accountNumber, Long balance, Long version) {
+        if (client() == null) {
+            return;
+        }
+        if (version == null) {
+            AfterCommit.run(() -> evict(userId));
+            return;
+        }
+        AfterCommit.run(() -> apply(userId, accountNumber, balance, version));
+    }
+
+    /**
+     * 정합성 확인용: 한 사용자의 계좌들을 HMGET 한 번으로 읽어,
+     * 저장된 값이 DB 와 다르면(그리고 더 최신이 아니면) DB 값으로 고친다.
+     * @return 고친 계좌 수
+     */
+    public int repairAll(Long userId, List<AccountBalanceRow> rows) {
+        RedissonClient client = client();
+        if (client == null) {
+            return 0;
+        }
+        Set<String> accountNumbers = new HashSet<>(rows.size());
+        for (AccountBalanceRow row : rows) {
+            accountNumbers.add(row.getAccountNumber());
+        }
+        Map<String, String> current;
+        try {
+            current = client.<String, String>getMap(getKey(userId), StringCodec.INSTANCE)
+                    .getAll(accountNumbers);
+        } catch (Exception e) {
+            log.error("Failed to read balance projection for userId : {}", userId, e);
+            return 0;
+        }
+
+        int repaired = 0;
+        for (AccountBalanceRow row : rows) {
+            if (row.getVersion() == null) {
+                continue;
+            }
+            String value = current.get(row.getAccountNumber());
+            if (value != null && (parseVersion(value) > row.getVersion()
+                    || parseBalance(value) == row.getBalance())) {
+                continue;
+            }
+            if (apply(userId, row.getAccountNumber(), row.getBalance(), row.getVersion())) {
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    public void evict(Long userId) {
+        RedissonClient client = client();
+        if (client == null) {
+            return;
+        }
+        try {
+            client.getKeys().delete(getKey(userId));
+        } catch (Exception e) {
+            log.error("Failed to evict balance projection for userId : {}", userId, e);
+        }
+    }
+
+    private boolean apply(Long userId, String accountNumber, Long balance, Long version) {
+        try {
+            Boolean applied = client().getScript(StringCodec.INSTANCE).eval(getKey(userId),
+                    RScript.Mode.READ_WRITE, UPDATE_SCRIPT, RScript.ReturnType.BOOLEAN,
+                    Collections.singletonList(getKey(userId)),
+                    accountNumber, String.valueOf(version), String.valueOf(balance));
+            return Boolean.TRUE.equals(applied);
+        } catch (Exception e) {
+            // 반영하지 못한 hash 는 지워서 다음 조회가 DB 에서 다시 만들게 한다.
+            log.error("Failed to update balance projection for accountNumber : {}", accountNumber, e);
+            evict(userId);
+            return false;
+        }
+    }
+
+    private RedissonClient client() {
+        return properties.isEnabled() ? redissonClient.getIfAvailable() : null;
+    }
+
+    private static String getKey(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static long parseVersion(String value) {
+        return Long.parseLong(value.substring(0, value.indexOf(':')));
+    }
+
+    private static long parseBalance(String value) {
+        return Long.parseLong(value.substring(value.indexOf(':') + 1));
+    }
+}
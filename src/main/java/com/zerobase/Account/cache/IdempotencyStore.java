@@ -0,0 +1,179 @@
+package com.zerobase.Account.cache;
+
+import com.zerobase.Account.config.IdempotencyProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Idempotency-Key -> 처리 결과 저장소
+ * 1. 노드 로컬 NearCache 에서 먼저 찾고, 없으면 Redis map(idempotency) 에 처리 중 표시를 putIfAbsent 한다.
+ * 2. 이미 값이 있으면 (다른 노드가 처리 중이거나 처리한 요청) 그 값을 돌려준다.
+ * 3. 처리가 끝나면 응답(JSON)을 ttl 동안 저장한다.
+ *    처리되지 않은 것이 확실한 실패만 처리 중 표시를 지우고(abort), 그 외에는 in-progress-ttl 동안 남겨둔다.
+ * 값 형식 : 처리 중 "P|{fingerprint}", 처리 완료 "D|{fingerprint}|{response}"
+ * Redis 를 쓰지 않거나 Redis 오류 시에는 노드 로컬로만 중복을 막는다.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+    static final String CACHE_NAME = "idempotency";
+    private static final String MAP_NAME = "idempotency";
+    private static final String IN_PROGRESS = "P";
+    private static final String DONE = "D";
+    private static final String SEPARATOR = "|";
+
+    private final IdempotencyProperties properties;
+    private final ObjectProvider<RedissonClient> redissonClient;
+    private final NearCache<String, String> nearCache;
+    // 같은 노드로 동시에 들어온 재시도는 Redis 까지 가지 않고 막는다. (in-progress-ttl 이 지나면 만료)
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public IdempotencyStore(IdempotencyProperties properties,
+                            ObjectProvider<RedissonClient> redissonClient,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redissonClient = redissonClient;
+        this.nearCache = new NearCache<>(properties.getNearCacheMaxSize(), properties.getTtl());
+        this.hits = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "miss");
+    }
+
+    /**
+     * 처리를 시작한다.
+     * @return 같은 key 로 저장된 기록 (empty 면 이 요청이 처리해야 한다)
+     */
+    public Optional<Record> begin(String key, String fingerprint) {
+        Optional<String> cached = nearCache.get(key);
+        if (cached.isPresent()) {
+            hits.increment();
+            return Optional.of(Record.parse(cached.get()));
+        }
+        String marker = IN_PROGRESS + SEPARATOR + fingerprint;
+        InFlight claim = new InFlight(marker, System.nanoTime());
+        long inProgressTtlNanos = properties.getInProgressTtl().toNanos();
+        InFlight local = inFlight.compute(key, (k, current) ->
+                current == null || current.isExpired(claim.startedAt, inProgressTtlNanos) ? claim : current);
+        if (local != claim) {
+            hits.increment();
+            return Optional.of(Record.parse(local.value));
+        }
+
+        RMapCache<String, String> map = map();
+        if (map != null) {
+            try {
+                String existing = map.putIfAbsent(key, marker,
+                        properties.getInProgressTtl().toMillis(), TimeUnit.MILLISECONDS);
+                if (existing != null) {
+                    inFlight.remove(key, claim);
+                    Record record = Record.parse(existing);
+                    if (record.isCompleted()) {
+                        nearCache.put(key, existing);
+                    }
+                    hits.increment();
+                    return Optional.of(record);
+                }
+            } catch (Exception e) {
+                log.error("Failed to claim idempotency key : {}", key, e);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * 처리 결과를 저장한다.
+     */
+    public void complete(String key, String fingerprint, String response) {
+        String value = DONE + SEPARATOR + fingerprint + SEPARATOR + response;
+        nearCache.put(key, value);
+        inFlight.remove(key);
+
+        RMapCache<String, String> map = map();
+        if (map == null) {
+            return;
+        }
+        try {
+            map.fastPut(key, value, properties.getTtl().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.error("Failed to store idempotent response for key : {}", key, e);
+        }
+    }
+
+    /**
+     * 처리되지 않은 것이 확실한 실패면 처리 중 표시를 지운다. (다른 요청이 남긴 값은 지우지 않는다)
+     */
+    public void abort(String key, String fingerprint) {
+        String marker = IN_PROGRESS + SEPARATOR + fingerprint;
+        inFlight.computeIfPresent(key, (k, current) -> marker.equals(current.value) ? null : current);
+
+        RMapCache<String, String> map = map();
+        if (map == null) {
+            return;
+        }
+        try {
+            map.remove(key, marker);
+        } catch (Exception e) {
+            log.error("Failed to release idempotency key : {}", key, e);
+        }
+    }
+
+    private RMapCache<String, String> map() {
+        RedissonClient client = redissonClient.getIfAvailable();
+        return client == null ? null : client.getMapCache(MAP_NAME, StringCodec.INSTANCE);
+    }
+
+    private static final class InFlight {
+        private final String value;
+        private final long startedAt;
+
+        private InFlight(String value, long startedAt) {
+            this.value = value;
+            this.startedAt = startedAt;
+        }
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return now - startedAt >= ttlNanos;
+        }
+    }
+
+    @Getter
+    public static final class Record {
+        private final String fingerprint;
+        // 처리 중이면 null
+        private final String response;
+
+        private Record(String fingerprint, String response) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+        }
+
+        public boolean isCompleted() {
+            return response != null;
+        }
+
+        public boolean matches(String fingerprint) {
+            return Objects.equals(this.fingerprint, fingerprint);
+        }
+
+        private static Record parse(String value) {
+            String[] fields = value.split("\\" + SEPARATOR, 3);
+            return DONE.equals(fields[0])
+                    ? new Record(fields[1], fields[2])
+                    : new Record(fields[1], null);
+        }
+    }
+}
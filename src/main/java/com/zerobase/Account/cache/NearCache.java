@@ -0,0 +1,76 @@
+package com.zerobase.Account.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * 노드 로컬 캐시
+ * - 최대 크기를 넘으면 가장 오래 사용하지 않은 항목부터 제거 (LRU)
+ * - 저장 후 ttl 이 지난 항목은 조회 시 만료 처리
+ */
+public class NearCache<K, V> {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public NearCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    NearCache(int maxSize, Duration ttl, LongSupplier ticker) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > NearCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized Optional<V> get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (ticker.getAsLong() - entry.writtenAt >= ttlNanos) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, ticker.getAsLong()));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long writtenAt;
+
+        private Entry(V value, long writtenAt) {
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+    }
+}
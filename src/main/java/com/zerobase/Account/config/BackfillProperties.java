@@ -0,0 +1,20 @@
+package com.zerobase.Account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기존 거래 row 백필 설정
+ * transaction-account : account_number/owner_id 가 비어 있는 거래를 기동 시 채운다. (한 번만 켜고 끈다)
+ * batch-size          : 한 트랜잭션에서 처리할 id 범위
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.backfill")
+public class BackfillProperties {
+    private boolean transactionAccount = false;
+    private int batchSize = 10_000;
+}
@@ -0,0 +1,53 @@
+package com.zerobase.Account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 노드 로컬 캐시 설정
+ * snapshot-consistency : 계좌 스냅샷을 어디까지 신뢰할지 (AccountSnapshotCache 참고)
+ * balance-projection   : 사용자별 계좌 잔액을 Redis hash 로 유지 (BalanceProjection 참고)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.cache")
+public class CacheProperties {
+    private SnapshotConsistency snapshotConsistency = SnapshotConsistency.STRICT;
+    private Spec accountUser = new Spec(10_000, Duration.ofMinutes(10));
+    private Spec accountSnapshot = new Spec(100_000, Duration.ofSeconds(30));
+    private BalanceProjection balanceProjection = new BalanceProjection();
+
+    public enum SnapshotConsistency {
+        STRICT,
+        RELAXED
+    }
+
+    @Getter
+    @Setter
+    public static class BalanceProjection {
+        private boolean enabled = true;
+        // 조회가 없는 사용자의 hash 는 ttl 이후 사라지고 다음 조회 때 다시 만든다.
+        private Duration ttl = Duration.ofDays(1);
+        private Duration checkInterval = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Spec {
+        private int maxSize;
+        private Duration ttl;
+
+        public Spec() {
+        }
+
+        public Spec(int maxSize, Duration ttl) {
+            this.maxSize = maxSize;
+            this.ttl = ttl;
+        }
+    }
+}
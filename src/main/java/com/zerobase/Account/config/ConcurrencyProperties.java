@@ -0,0 +1,26 @@
+package com.zerobase.Account.config;
+
+import com.zerobase.Account.type.ConcurrencyMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 계좌 잔액 변경의 동시성 제어 방식
+ * redis-lock : 계좌별 분산 락 (기본값)
+ * sequencer  : 계좌별 단일 스레드 레인에서 순서대로 실행 (단일 노드, sticky 라우팅 환경)
+ * optimistic : 락 없이 version 조건부 UPDATE 후 충돌 시 재시도
+ * atomic     : 락 없이 소유주/상태/잔액 조건을 건 단일 UPDATE 로 차감
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.concurrency")
+public class ConcurrencyProperties {
+    private ConcurrencyMode mode = ConcurrencyMode.REDIS_LOCK;
+    private int sequencerLanes = 16;
+    private int optimisticMaxRetries = 5;
+    // 계좌 하나에 대해 락을 기다릴 수 있는 최대 요청 수 (redis-lock 모드)
+    private int maxWaitersPerAccount = 64;
+}
@@ -0,0 +1,21 @@
+package com.zerobase.Account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 실패 거래 기록 설정
+ * async          : 응답(및 계좌 락 해제) 이후 별도 스레드에서 기록
+ * queue-capacity : 대기 큐 크기, 넘치면 spill-file 에 기록하고 재기동/유휴 시 다시 처리
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.failure-recording")
+public class FailureRecordingProperties {
+    private boolean async = true;
+    private int queueCapacity = 10_000;
+    private String spillFile = "failed-transactions.spill";
+}
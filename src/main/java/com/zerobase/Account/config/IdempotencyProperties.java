@@ -0,0 +1,25 @@
+package com.zerobase.Account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 설정
+ * ttl               : 처리된 응답을 보관하는 기간 (클라이언트 재시도 기간보다 길게)
+ * in-progress-ttl   : 처리 중 표시의 유효 기간, 노드가 죽어도 이 시간이 지나면 다시 처리할 수 있다.
+ * near-cache-max-size : 노드 로컬에 보관할 응답 수
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.idempotency")
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofHours(24);
+    private Duration inProgressTtl = Duration.ofSeconds(30);
+    private int nearCacheMaxSize = 10_000;
+}
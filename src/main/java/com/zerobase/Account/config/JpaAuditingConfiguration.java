@@ -3,7 +3,7 @@ package com.zerobase.Account.config;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
-@Configuration
+@Configuration(proxyBeanMethods = false)
 @EnableJpaAuditing
 public class JpaAuditingConfiguration {
 }
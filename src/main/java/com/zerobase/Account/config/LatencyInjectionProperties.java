@@ -0,0 +1,23 @@
+package com.zerobase.Account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 테스트/장애 재현용 지연 주입 설정
+ * 기본값은 비활성화이며, 엔드포인트 이름별로 지연 시간(ms)을 지정한다.
+ * ex) fault.latency.enabled=true, fault.latency.delays.use=3000
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "fault.latency")
+public class LatencyInjectionProperties {
+    private boolean enabled = false;
+    private Map<String, Long> delays = new HashMap<>();
+}
@@ -0,0 +1,33 @@
+package com.zerobase.Account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 거래(원장) 기록 설정
+ * group-commit : 여러 요청의 거래 row 를 모아 한 번의 insert/commit 으로 기록
+ *   max-rows  : 한 번에 기록할 최대 row 수
+ *   max-delay : 첫 row 가 들어온 뒤 기다리는 최대 시간
+ *   write-timeout : 호출자가 커밋을 기다리는 최대 시간
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.ledger")
+public class LedgerProperties {
+    private GroupCommit groupCommit = new GroupCommit();
+
+    @Getter
+    @Setter
+    public static class GroupCommit {
+        private boolean enabled = false;
+        private int maxRows = 128;
+        private Duration maxDelay = Duration.ofNanos(500_000);
+        private int queueCapacity = 8192;
+        private Duration writeTimeout = Duration.ofSeconds(5);
+    }
+}
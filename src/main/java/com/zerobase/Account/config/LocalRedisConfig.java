@@ -2,13 +2,23 @@ package com.zerobase.Account.config;
 
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import redis.embedded.RedisServer;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
-@Configuration
+/**
+ * 내장 redis (로컬 실행, 테스트)
+ * redisson 락을 쓰고 account.redis.embedded 가 true 일 때만 띄운다.
+ * 여러 노드로 띄울 때는 끄고 spring.redis.host/port 로 외부 redis 를 가리킨다.
+ */
+@Configuration(proxyBeanMethods = false)
+// 이 빈에 의존하는 빈이 없으므로 lazy 초기화 프로필에서는 만들어지지 않아 redis 가 뜨지 않는다.
+@Lazy(false)
+@ConditionalOnExpression("'${account.lock.provider:redisson}' == 'redisson' and ${account.redis.embedded:true}")
 public class LocalRedisConfig {
     @Value("${spring.redis.port}")
     private int redisPort;
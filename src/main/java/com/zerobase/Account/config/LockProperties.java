@@ -0,0 +1,38 @@
+package com.zerobase.Account.config;
+
+import com.zerobase.Account.type.LockProviderType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 계좌 락(redis-lock 모드) 설정
+ * provider : 락 백엔드 (redisson, in-jvm, jdbc). redisson 일 때만 Redis(내장 포함)를 띄운다.
+ * lease 는 최근 락 보유 시간의 p99 x lease-safety-factor 로 정하고 min-lease ~ max-lease 로 제한한다.
+ * 보유 시간 기록이 모이기 전에는 max-lease 를 사용한다. (redisson)
+ * watchdog : 요청이 살아 있는 동안 lease 의 1/3 마다 만료 시간을 연장 (redisson)
+ * jdbc.pool-size : 락을 잡고 있는 동안 점유하는 전용 커넥션 수 (jdbc)
+ * jdbc.fence-pool-size : fencing token 을 바로 커밋하는 짧은 트랜잭션용 커넥션 수 (jdbc)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.lock")
+public class LockProperties {
+    private LockProviderType provider = LockProviderType.REDISSON;
+    private Duration minLease = Duration.ofSeconds(2);
+    private Duration maxLease = Duration.ofSeconds(15);
+    private double leaseSafetyFactor = 3.0;
+    private boolean watchdog = true;
+    private Jdbc jdbc = new Jdbc();
+
+    @Getter
+    @Setter
+    public static class Jdbc {
+        private int poolSize = 32;
+        private int fencePoolSize = 4;
+    }
+}
@@ -5,9 +5,11 @@ import org.redisson.api.RedissonClient;
 import org.redisson.config.Config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 
-@Configuration
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "account.lock", name = "provider", havingValue = "redisson", matchIfMissing = true)
 public class RedisRepositoryConfig {
     @Value("${spring.redis.host}")
     private String redisHost;
@@ -0,0 +1,28 @@
+package com.zerobase.Account.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * AppCDS 아카이브를 만들기 위한 학습 실행 (account.startup.training-run=true)
+ * 기동이 끝나면 바로 종료해서 JVM 이 -XX:ArchiveClassesAtExit 로 로드된 클래스를 덤프하게 한다.
+ * ./gradlew appCds 에서만 사용한다.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "account.startup", name = "training-run", havingValue = "true")
+public class TrainingRunConfig {
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> trainingRunExit() {
+        return event -> {
+            log.info("Training run finished, exiting to write the class data archive");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.zerobase.Account.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tomcat 요청 처리 스레드를 가상 스레드로 교체한다. (account.execution.virtual-threads=true)
+ * 빌드 대상은 JDK 11 이므로 JDK 21 API 는 리플렉션으로 호출하며,
+ * 실행 JDK 가 가상 스레드를 지원하지 않으면 기동 시 실패한다.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "account.execution", name = "virtual-threads", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("Tomcat requests will run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("virtual threads require JDK 21 or later (running "
+                    + System.getProperty("java.version") + ")", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("failed to create virtual thread executor", e);
+        }
+    }
+}
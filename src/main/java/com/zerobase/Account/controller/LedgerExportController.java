@@ -0,0 +1,39 @@
+package com.zerobase.Account.controller;
+
+import com.zerobase.Account.service.LedgerExportService;
+import com.zerobase.Account.type.ExportFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * 계좌 원장 export 컨트롤러 (야간 대사용)
+ * 전체 거래를 NDJSON 또는 CSV 로 내려준다.
+ * 응답은 MVC 비동기 스레드에서 쓰므로 요청 스레드를 붙잡지 않는다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class LedgerExportController {
+    private final LedgerExportService ledgerExportService;
+
+    @GetMapping("/account/{accountNumber}/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportLedger(
+            @PathVariable String accountNumber,
+            @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format
+    ) {
+        Long accountId = ledgerExportService.getAccountId(accountNumber);
+        StreamingResponseBody body = outputStream ->
+                ledgerExportService.exportLedger(accountId, accountNumber, format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\""
+                        + accountNumber + "-ledger." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
@@ -1,36 +1,56 @@
 package com.zerobase.Account.controller;
 
 import com.zerobase.Account.aop.AccountLock;
+import com.zerobase.Account.aop.Idempotent;
 import com.zerobase.Account.dto.CancelBalance;
 import com.zerobase.Account.dto.QueryTransactionResponse;
+import com.zerobase.Account.dto.TransactionDto;
+import com.zerobase.Account.dto.TransactionHistory;
+import com.zerobase.Account.dto.TransferBalance;
 import com.zerobase.Account.dto.UseBalance;
+import com.zerobase.Account.dto.UseBalanceBatch;
 import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.service.BalanceBatchService;
+import com.zerobase.Account.service.FailedTransactionRecorder;
+import com.zerobase.Account.service.LatencyInjector;
 import com.zerobase.Account.service.TransactionService;
+import com.zerobase.Account.type.TransactionResultType;
+import com.zerobase.Account.type.TransactionType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 잔액 관련 컨트롤러
- * 1. 잔액 사용
- * 2. 잔액 사용 취소
- * 3. 거래 확인
+ * 1. 잔액 사용 (Idempotency-Key 헤더로 재시도 시 처음 응답을 그대로 받는다)
+ * 2. 잔액 일괄 사용
+ * 3. 잔액 사용 취소 (Idempotency-Key 지원)
+ * 4. 계좌 이체
+ * 5. 거래 확인
+ * 6. 계좌 거래 내역 조회
  */
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class TransactionController {
     private final TransactionService transactionService;
+    private final LatencyInjector latencyInjector;
+    private final BalanceBatchService balanceBatchService;
+    private final FailedTransactionRecorder failedTransactionRecorder;
 
     @PostMapping("/transaction/use")
+    @Idempotent
     @AccountLock
     public UseBalance.Response useBalance(
             @Valid @RequestBody UseBalance.Request request
-    ) throws InterruptedException{
+    ) {
         try {
-            Thread.sleep(3000L);
+            latencyInjector.inject("use");
             return UseBalance.Response.from(
                     transactionService.
                             useBalance(request.getUserId()
@@ -39,19 +59,32 @@ public class TransactionController {
             );
         }catch (AccountException e) {
             log.error("Failed to use balance");
-            transactionService.saveFailedUseTransaction(request.getAccountNumber(),
+            failedTransactionRecorder.recordUse(request.getAccountNumber(),
                     request.getAmount()
             );
             throw e;
         }
     }
 
+    /**
+     * 계좌별 락은 서비스에서 계좌마다 한 번씩 잡는다.
+     * 건별 실패는 예외 대신 결과의 errorCode 로 돌려준다.
+     */
+    @PostMapping("/transaction/use/batch")
+    public UseBalanceBatch.Response useBalanceBatch(
+            @Valid @RequestBody UseBalanceBatch.Request request
+    ) {
+        return balanceBatchService.useBalances(request.getItems());
+    }
+
     @PostMapping("/transaction/cancel")
+    @Idempotent
     @AccountLock
     public CancelBalance.Response cancelBalance(
             @Valid @RequestBody CancelBalance.Request request
     ) {
         try {
+            latencyInjector.inject("cancel");
             return CancelBalance.Response.from(
                     transactionService.
                             cancelBalance(request.getTransactionId()
@@ -60,7 +93,31 @@ public class TransactionController {
             );
         }catch (AccountException e) {
             log.error("Failed to use balance");
-            transactionService.saveFailedCancelTransaction(request.getAccountNumber(),
+            failedTransactionRecorder.recordCancel(request.getAccountNumber(),
+                    request.getAmount()
+            );
+            throw e;
+        }
+    }
+
+    /**
+     * 출금/입금 계좌의 락은 @AccountLock 이 함께 잡는다. (getAccountNumbers)
+     */
+    @PostMapping("/transaction/transfer")
+    @AccountLock
+    public TransferBalance.Response transferBalance(
+            @Valid @RequestBody TransferBalance.Request request
+    ) {
+        try {
+            List<TransactionDto> transactions = transactionService.transferBalance(
+                    request.getUserId(),
+                    request.getFromAccountNumber(),
+                    request.getToAccountNumber(),
+                    request.getAmount());
+            return TransferBalance.Response.from(transactions.get(0), transactions.get(1));
+        } catch (AccountException e) {
+            log.error("Failed to transfer balance");
+            failedTransactionRecorder.recordTransfer(request.getFromAccountNumber(),
                     request.getAmount()
             );
             throw e;
@@ -75,4 +132,32 @@ public class TransactionController {
                 transactionService.queryTransaction(transactionId)
         );
     }
+
+    /**
+     * 최신순 거래 내역, 다음 페이지는 응답의 nextCursor 를 cursor 로 넘겨 조회한다.
+     */
+    @GetMapping("/account/{accountNumber}/transactions")
+    public TransactionHistory.Response queryTransactionHistory(
+            @PathVariable String accountNumber,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "transaction_type", required = false) List<TransactionType> transactionTypes,
+            @RequestParam(value = "transaction_result", required = false) List<TransactionResultType> transactionResults,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        return TransactionHistory.Response.from(
+                transactionService.queryTransactionHistory(accountNumber,
+                        TransactionHistory.Condition.builder()
+                                .from(from)
+                                .to(to)
+                                .transactionTypes(transactionTypes)
+                                .transactionResults(transactionResults)
+                                .cursor(cursor)
+                                .size(size)
+                                .build())
+        );
+    }
 }
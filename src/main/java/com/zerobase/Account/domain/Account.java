@@ -8,7 +8,11 @@ import lombok.*;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 
 @Getter
@@ -17,8 +21,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        @Index(name = "ux_account_account_number", columnList = "account_number", unique = true),
+        @Index(name = "ix_account_account_user_id", columnList = "account_user_id, id")
+})
 public class Account extends BaseEntity{
-    @ManyToOne
+    // 소유자 확인은 id 만 보므로 프록시로 충분하다. (프록시의 getId 는 조회하지 않음)
+    @ManyToOne(fetch = FetchType.LAZY)
     private AccountUser accountUser;
     private String accountNumber;
 
@@ -29,6 +38,26 @@ public class Account extends BaseEntity{
     private LocalDateTime registeredAt;
     private LocalDateTime unregisteredAt;
 
+    @Version
+    private Long version;
+
+    // 마지막으로 이 계좌를 변경한 락 보유자의 fencing token
+    private Long fencingToken;
+
+    /**
+     * 더 최근에 락을 얻은 요청이 이미 변경했다면 lease 가 만료된 쓰기이므로 거절한다.
+     * 토큰을 읽은 뒤 커밋 전에 끼어든 변경은 @Version 으로 거절된다.
+     */
+    public void fence(Long token) {
+        if (token == null) {
+            return;
+        }
+        if (fencingToken != null && token < fencingToken) {
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+        fencingToken = token;
+    }
+
     public void useBalance(Long amount) {
         if (amount > balance) {
             throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
@@ -0,0 +1,25 @@
+package com.zerobase.Account.domain;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * jdbc 락 백엔드의 계좌별 fencing token 카운터 (JdbcLockProvider 참고)
+ * account_lock row 는 락 커넥션이 잡고 있으므로, 토큰은 이 테이블에서 별도 커넥션으로 올리고 바로 커밋한다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "account_fence")
+public class AccountFenceRow {
+    @Id
+    private String accountNumber;
+
+    private Long fencingToken;
+}
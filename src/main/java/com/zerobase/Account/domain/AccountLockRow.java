@@ -0,0 +1,24 @@
+package com.zerobase.Account.domain;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * jdbc 락 백엔드용 계좌별 row (JdbcLockProvider 참고)
+ * row 는 처음 락을 잡을 때 만들고, SELECT ... FOR UPDATE 로 잠그기만 한다.
+ * fencing token 은 AccountFenceRow 에서 발급한다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "account_lock")
+public class AccountLockRow {
+    @Id
+    private String accountNumber;
+}
@@ -0,0 +1,23 @@
+package com.zerobase.Account.domain;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * 계좌번호 블록 예약용 시퀀스
+ * nextValue 부터 블록 크기만큼을 한 번에 가져가고 값을 올려둔다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+public class AccountNumberSequence {
+    @Id
+    private String name;
+
+    private Long nextValue;
+}
@@ -4,10 +4,14 @@ import com.zerobase.Account.type.TransactionResultType;
 import com.zerobase.Account.type.TransactionType;
 import lombok.*;
 
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 import java.time.LocalDateTime;
 
 @Getter
@@ -16,17 +20,27 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        @Index(name = "ux_transaction_transaction_id", columnList = "transaction_id", unique = true),
+        // 계좌별 거래 내역 keyset 페이지 조회
+        @Index(name = "ix_transaction_account_transacted_at", columnList = "account_id, transacted_at, id")
+})
 public class Transaction extends BaseEntity{
     @Enumerated(EnumType.STRING)
     private TransactionType transactionType;
     @Enumerated(EnumType.STRING)
     private TransactionResultType transactionResultType;
 
-    @ManyToOne
+    // 계좌가 필요한 조회는 fetch join(@EntityGraph) 으로 함께 읽는다.
+    @ManyToOne(fetch = FetchType.LAZY)
     private Account account;
+    // 조회/취소 검증을 거래 row 만으로 하기 위한 비정규화 (계좌번호와 소유자는 바뀌지 않는다)
+    private String accountNumber;
+    private Long ownerId;
     private Long amount;
     private Long balanceSnapshot;
 
+    @Convert(converter = TransactionIdConverter.class)
     private String transactionId;
     private LocalDateTime transactedAt;
 }
@@ -0,0 +1,46 @@
+package com.zerobase.Account.domain;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * 외부 거래 ID(16자리 hex) <-> BIGINT 컬럼 변환
+ * 형식이 맞지 않는 ID 는 null 로 바인딩되어 조회 결과가 없게 된다.
+ */
+@Converter
+public class TransactionIdConverter implements AttributeConverter<String, Long> {
+    private static final int EXTERNAL_ID_LENGTH = 16;
+
+    @Override
+    public Long convertToDatabaseColumn(String attribute) {
+        return parseExternalId(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Long dbData) {
+        return dbData == null ? null : toExternalId(dbData);
+    }
+
+    public static String toExternalId(long id) {
+        String hex = Long.toHexString(id);
+        StringBuilder sb = new StringBuilder(EXTERNAL_ID_LENGTH);
+        for (int i = hex.length(); i < EXTERNAL_ID_LENGTH; i++) {
+            sb.append('0');
+        }
+        return sb.append(hex).toString();
+    }
+
+    /**
+     * @return 형식이 맞지 않으면 null
+     */
+    public static Long parseExternalId(String externalId) {
+        if (externalId == null || externalId.length() != EXTERNAL_ID_LENGTH) {
+            return null;
+        }
+        try {
+            return Long.parseUnsignedLong(externalId, 16);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.zerobase.Account.dto;
+
+/**
+ * 잔액 projection 정합성 확인용으로 계좌를 훑을 때 읽는 projection
+ */
+public interface AccountBalanceRow {
+    Long getId();
+
+    Long getUserId();
+
+    String getAccountNumber();
+
+    Long getBalance();
+
+    Long getVersion();
+}
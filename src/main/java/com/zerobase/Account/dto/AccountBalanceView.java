@@ -0,0 +1,12 @@
+package com.zerobase.Account.dto;
+
+/**
+ * 엔티티를 로딩하지 않고 계좌 id 와 잔액, version 만 조회하는 projection
+ */
+public interface AccountBalanceView {
+    Long getId();
+
+    Long getBalance();
+
+    Long getVersion();
+}
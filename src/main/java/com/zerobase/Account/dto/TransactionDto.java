@@ -23,7 +23,7 @@ public class TransactionDto {
 
     public static TransactionDto fromEntity(Transaction transaction) {
         return TransactionDto.builder()
-                .accountNumber(transaction.getAccount().getAccountNumber())
+                .accountNumber(transaction.getAccountNumber())
                 .transactionType(transaction.getTransactionType())
                 .transactionResultType(transaction.getTransactionResultType())
                 .amount(transaction.getAmount())
@@ -33,4 +33,31 @@ public class TransactionDto {
                 .build();
     }
 
+    /**
+     * 계좌 엔티티를 로딩하지 않은 거래(계좌 참조가 프록시인 경우)를 변환한다.
+     */
+    public static TransactionDto fromEntity(Transaction transaction, String accountNumber) {
+        return TransactionDto.builder()
+                .accountNumber(accountNumber)
+                .transactionType(transaction.getTransactionType())
+                .transactionResultType(transaction.getTransactionResultType())
+                .amount(transaction.getAmount())
+                .balanceSnapshot(transaction.getBalanceSnapshot())
+                .transactionId(transaction.getTransactionId())
+                .transactedAt(transaction.getTransactedAt())
+                .build();
+    }
+
+    public static TransactionDto fromRow(TransactionHistoryRow row, String accountNumber) {
+        return TransactionDto.builder()
+                .accountNumber(accountNumber)
+                .transactionType(row.getTransactionType())
+                .transactionResultType(row.getTransactionResultType())
+                .amount(row.getAmount())
+                .balanceSnapshot(row.getBalanceSnapshot())
+                .transactionId(row.getTransactionId())
+                .transactedAt(row.getTransactedAt())
+                .build();
+    }
+
 }
@@ -0,0 +1,84 @@
+package com.zerobase.Account.dto;
+
+import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.type.ErrorCode;
+import com.zerobase.Account.type.TransactionResultType;
+import com.zerobase.Account.type.TransactionType;
+import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class TransactionHistory {
+
+    /**
+     * 조회 조건 (null 이면 제한 없음)
+     */
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    public static class Condition {
+        private LocalDateTime from;
+        private LocalDateTime to;
+        private List<TransactionType> transactionTypes;
+        private List<TransactionResultType> transactionResults;
+        private String cursor;
+        private int size;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Page {
+        private List<TransactionDto> transactions;
+        // 다음 페이지가 없으면 null
+        private String nextCursor;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private List<QueryTransactionResponse> transactions;
+        private String nextCursor;
+
+        public static Response from(Page page) {
+            return Response.builder()
+                    .transactions(page.getTransactions().stream()
+                            .map(QueryTransactionResponse::from)
+                            .collect(Collectors.toList()))
+                    .nextCursor(page.getNextCursor())
+                    .build();
+        }
+    }
+
+    /**
+     * keyset 커서: 직전 페이지 마지막 거래의 (transactedAt, id)
+     * 클라이언트에는 base64url 문자열로만 노출한다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Cursor {
+        private LocalDateTime transactedAt;
+        private Long id;
+
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((transactedAt + "," + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String cursor) {
+            try {
+                String[] fields = new String(Base64.getUrlDecoder().decode(cursor),
+                        StandardCharsets.UTF_8).split(",");
+                return new Cursor(LocalDateTime.parse(fields[0]), Long.parseLong(fields[1]));
+            } catch (RuntimeException e) {
+                throw new AccountException(ErrorCode.INVALID_REQUEST);
+            }
+        }
+    }
+}
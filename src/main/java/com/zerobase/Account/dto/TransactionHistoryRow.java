@@ -0,0 +1,25 @@
+package com.zerobase.Account.dto;
+
+import com.zerobase.Account.type.TransactionResultType;
+import com.zerobase.Account.type.TransactionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 거래 내역 조회용 projection (Account 엔티티를 로딩하지 않는다)
+ */
+public interface TransactionHistoryRow {
+    Long getId();
+
+    TransactionType getTransactionType();
+
+    TransactionResultType getTransactionResultType();
+
+    Long getAmount();
+
+    Long getBalanceSnapshot();
+
+    String getTransactionId();
+
+    LocalDateTime getTransactedAt();
+}
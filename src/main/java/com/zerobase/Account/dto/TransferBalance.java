@@ -0,0 +1,98 @@
+package com.zerobase.Account.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.zerobase.Account.aop.AccountLockIdInterface;
+import com.zerobase.Account.type.TransactionResultType;
+import lombok.*;
+
+import javax.validation.constraints.*;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+
+public class TransferBalance {
+
+    /**
+     * {
+     * "userId":1,
+     * "fromAccountNumber":"1000000008",
+     * "toAccountNumber":"1000000016",
+     * "amount":1000
+     * }
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Request implements AccountLockIdInterface {
+        @NotNull
+        @Min(1)
+        private Long userId;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String fromAccountNumber;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String toAccountNumber;
+
+        @NotNull
+        @Min(10)
+        @Max(1000_000_000)
+        private Long amount;
+
+        /**
+         * 실패 거래는 출금 계좌에 남긴다.
+         */
+        @Override
+        @JsonIgnore
+        public String getAccountNumber() {
+            return fromAccountNumber;
+        }
+
+        @Override
+        @JsonIgnore
+        public Collection<String> getAccountNumbers() {
+            return Arrays.asList(fromAccountNumber, toAccountNumber);
+        }
+    }
+
+    /**
+     * {
+     * "fromAccountNumber":"1000000008",
+     * "toAccountNumber":"1000000016",
+     * "transactionResult":"S",
+     * "withdrawTransactionId":"00b1a2c3d4e5f001",
+     * "depositTransactionId":"00b1a2c3d4e5f002",
+     * "amount":1000,
+     * "transactionAt":"2022-06-01T23:26:14.671859"
+     * }
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private String fromAccountNumber;
+        private String toAccountNumber;
+        private TransactionResultType transactionResult;
+        private String withdrawTransactionId;
+        private String depositTransactionId;
+        private Long amount;
+        private LocalDateTime transactionAt;
+
+        public static Response from(TransactionDto withdraw, TransactionDto deposit) {
+            return Response.builder()
+                    .fromAccountNumber(withdraw.getAccountNumber())
+                    .toAccountNumber(deposit.getAccountNumber())
+                    .transactionResult(withdraw.getTransactionResultType())
+                    .withdrawTransactionId(withdraw.getTransactionId())
+                    .depositTransactionId(deposit.getTransactionId())
+                    .amount(withdraw.getAmount())
+                    .transactionAt(withdraw.getTransactedAt())
+                    .build();
+        }
+    }
+}
@@ -38,7 +38,7 @@ public class UseBalance {
      * {
      * "accountNumber":"1234567890",
      * "transactionResult":"S",
-     * "transactionId":"c2033bb6d82a4250aecf8e27c49b63f6",
+     * "transactionId":"00b1a2c3d4e5f001",
      * "amount":1000,
      * "transactedAt":"2022-06-01T23:26:14.671859"
      * }
@@ -0,0 +1,109 @@
+package com.zerobase.Account.dto;
+
+import com.zerobase.Account.type.ErrorCode;
+import com.zerobase.Account.type.TransactionResultType;
+import lombok.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class UseBalanceBatch {
+
+    /**
+     * {
+     * "items":[
+     *   {"userId":1, "accountNumber":"1000000008", "amount":1000},
+     *   {"userId":1, "accountNumber":"1000000008", "amount":2000}
+     * ]
+     * }
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Request {
+        @NotEmpty
+        @Size(max = 1000)
+        private List<@Valid UseBalance.Request> items;
+    }
+
+    /**
+     * {
+     * "succeeded":1,
+     * "failed":1,
+     * "results":[
+     *   {"index":0, "accountNumber":"1000000008", "transactionResult":"S", "transactionId":"00b1a2c3d4e5f001", ...},
+     *   {"index":1, "accountNumber":"1000000008", "transactionResult":"F", "errorCode":"AMOUNT_EXCEED_BALANCE", ...}
+     * ]
+     * }
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private int succeeded;
+        private int failed;
+        private List<Item> results;
+
+        public static Response from(List<Item> results) {
+            int succeeded = (int) results.stream()
+                    .filter(item -> item.getTransactionResult() == TransactionResultType.S)
+                    .count();
+            return Response.builder()
+                    .succeeded(succeeded)
+                    .failed(results.size() - succeeded)
+                    .results(results)
+                    .build();
+        }
+    }
+
+    /**
+     * 요청 순서(index) 별 처리 결과
+     * 실패 건은 errorCode 를 가지며, 계좌를 찾지 못한 경우 transactionId 가 없다.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        private int index;
+        private String accountNumber;
+        private TransactionResultType transactionResult;
+        private String transactionId;
+        private Long amount;
+        private LocalDateTime transactionAt;
+        private ErrorCode errorCode;
+
+        public static Item success(TransactionDto transactionDto) {
+            return from(transactionDto).build();
+        }
+
+        public static Item failure(TransactionDto transactionDto, ErrorCode errorCode) {
+            return from(transactionDto).errorCode(errorCode).build();
+        }
+
+        public static Item failure(String accountNumber, Long amount, ErrorCode errorCode) {
+            return Item.builder()
+                    .accountNumber(accountNumber)
+                    .transactionResult(TransactionResultType.F)
+                    .amount(amount)
+                    .errorCode(errorCode)
+                    .build();
+        }
+
+        private static ItemBuilder from(TransactionDto transactionDto) {
+            return Item.builder()
+                    .accountNumber(transactionDto.getAccountNumber())
+                    .transactionResult(transactionDto.getTransactionResultType())
+                    .transactionId(transactionDto.getTransactionId())
+                    .amount(transactionDto.getAmount())
+                    .transactionAt(transactionDto.getTransactedAt());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.zerobase.Account.exception;
+
+import com.zerobase.Account.type.ErrorCode;
+import lombok.Getter;
+
+/**
+ * 계좌 대기열이 가득 차 즉시 거절한 경우
+ * retryAfterMillis 이후 다시 시도하면 처리될 가능성이 높다.
+ */
+@Getter
+public class AccountOverloadedException extends AccountException {
+    private final long retryAfterMillis;
+
+    public AccountOverloadedException(long retryAfterMillis) {
+        super(ErrorCode.ACCOUNT_OVERLOADED);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+}
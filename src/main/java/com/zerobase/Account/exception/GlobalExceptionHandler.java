@@ -3,6 +3,9 @@ package com.zerobase.Account.exception;
 import com.zerobase.Account.dto.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -20,6 +23,19 @@ public class GlobalExceptionHandler {
         return new ErrorResponse(e.getErrorCode(), e.getErrorMessage());
     }
 
+    /**
+     * 대기열 입장 거절은 429 와 Retry-After(초) 로 응답한다.
+     */
+    @ExceptionHandler(AccountOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleAccountOverloadedException(AccountOverloadedException e) {
+        log.warn("{} is occurred. retry after {}ms", e.getErrorCode(), e.getRetryAfterMillis());
+
+        long retryAfterSeconds = Math.max(1L, (e.getRetryAfterMillis() + 999L) / 1000L);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorResponse(e.getErrorCode(), e.getErrorMessage()));
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ErrorResponse handleADataIntegrityViolationException(DataIntegrityViolationException e) {
         log.error("DataIntegrityViolationException is occurred.", e);
@@ -0,0 +1,33 @@
+package com.zerobase.Account.lock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 단일 노드용 락 백엔드
+ * 상호 배제는 LockService 의 로컬 락으로 충분하고, 로컬 락은 만료되지 않으므로 fencing token 을 발급하지 않는다.
+ * (프로세스 안의 카운터는 재기동 때 0 부터 시작해서 DB 에 기록된 토큰과 비교할 수 없다)
+ * 여러 노드로 띄우면 계좌 락이 노드 간에 공유되지 않는다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "account.lock", name = "provider", havingValue = "in-jvm")
+public class InJvmLockProvider implements LockProvider {
+
+    @Override
+    public List<Long> tryLockAll(List<String> accountNumbers, long waitMillis) {
+        return new ArrayList<>(Collections.nCopies(accountNumbers.size(), (Long) null));
+    }
+
+    @Override
+    public void unlockAll(List<String> accountNumbers) {
+    }
+
+    @Override
+    public Long reissue(String accountNumber, long storedToken) {
+        return null;
+    }
+}
@@ -0,0 +1,257 @@
+package com.zerobase.Account.lock;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zerobase.Account.config.LockProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DB row lock 백엔드 (Redis 없이 여러 노드)
+ * 계좌마다 account_lock row 를 SELECT ... FOR UPDATE 로 잠그고, unlock 때 커밋해서 푼다.
+ * 락은 업무 트랜잭션과 별개인 전용 커넥션에서 잡는다.
+ * (업무 커넥션 풀을 락 대기로 다 써버리면 락을 가진 요청도 커넥션을 못 얻는다.)
+ * 노드가 죽으면 커넥션이 끊기면서 DB 가 락을 푼다.
+ * fencing token 은 락을 얻은 뒤 account_fence 에서 별도 커넥션으로 올리고 바로 커밋한다.
+ * (락 커넥션에서 올리면 커넥션이 끊길 때 롤백되어 다음 보유자가 같은 토큰을 받는다)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "account.lock", name = "provider", havingValue = "jdbc")
+public class JdbcLockProvider implements LockProvider {
+    private static final String SELECT_FOR_UPDATE =
+            "select account_number from account_lock where account_number = ? for update";
+    private static final String INSERT =
+            "insert into account_lock (account_number) values (?)";
+    private static final String INCREMENT_TOKEN =
+            "update account_fence set fencing_token = fencing_token + 1 where account_number = ?";
+    private static final String SELECT_TOKEN =
+            "select fencing_token from account_fence where account_number = ?";
+    private static final String INSERT_TOKEN =
+            "insert into account_fence (account_number, fencing_token) values (?, 0)";
+    private static final String RAISE_TOKEN =
+            "update account_fence set fencing_token = ? where account_number = ? and fencing_token < ?";
+
+    private final DataSource dataSource;
+    private final DataSource fenceDataSource;
+    private final ConcurrentHashMap<String, Connection> heldConnections = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JdbcLockProvider(DataSourceProperties dataSourceProperties, LockProperties lockProperties) {
+        HikariDataSource lockDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        lockDataSource.setPoolName("account-lock");
+        lockDataSource.setMaximumPoolSize(lockProperties.getJdbc().getPoolSize());
+        this.dataSource = lockDataSource;
+
+        // 락 커넥션을 모두 점유한 상태에서도 토큰을 발급할 수 있도록 풀을 나눈다.
+        HikariDataSource tokenDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        tokenDataSource.setPoolName("account-fence");
+        tokenDataSource.setMaximumPoolSize(lockProperties.getJdbc().getFencePoolSize());
+        this.fenceDataSource = tokenDataSource;
+    }
+
+    JdbcLockProvider(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.fenceDataSource = dataSource;
+    }
+
+    @Override
+    public List<Long> tryLockAll(List<String> accountNumbers, long waitMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+            boolean locked = lockRows(connection, accountNumbers, deadline);
+            if (!locked) {
+                // 처음 잠그는 계좌: row 를 만들고 한 번 더 시도
+                connection.rollback();
+                insertMissingRows(connection, INSERT, accountNumbers);
+                locked = lockRows(connection, accountNumbers, deadline);
+            }
+            if (!locked) {
+                throw new IllegalStateException("account_lock rows are missing for " + accountNumbers);
+            }
+            List<Long> tokens = issueTokens(accountNumbers);
+            heldConnections.put(getHoldKey(accountNumbers), connection);
+            return tokens;
+        } catch (SQLException e) {
+            // 잠금 대기 시간 초과 등
+            log.warn("Failed to lock account_lock rows for {} : {}", accountNumbers, e.getMessage());
+            close(connection, false);
+            return null;
+        } catch (RuntimeException e) {
+            close(connection, false);
+            throw e;
+        }
+    }
+
+    @Override
+    public void unlockAll(List<String> accountNumbers) {
+        Connection connection = heldConnections.remove(getHoldKey(accountNumbers));
+        if (connection != null) {
+            close(connection, true);
+        }
+    }
+
+    @Override
+    public Long reissue(String accountNumber, long storedToken) {
+        if (!isHeld(accountNumber)) {
+            return null;
+        }
+        try (Connection connection = fenceDataSource.getConnection();
+             PreparedStatement raise = connection.prepareStatement(RAISE_TOKEN)) {
+            connection.setAutoCommit(true);
+            raise.setLong(1, storedToken + 1);
+            raise.setString(2, accountNumber);
+            raise.setLong(3, storedToken);
+            return raise.executeUpdate() == 1 ? storedToken + 1 : null;
+        } catch (SQLException e) {
+            log.error("Failed to reissue fencing token for {}", accountNumber, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return 모든 row 를 잠갔으면 true, 없는 row 가 있으면 false
+     */
+    private static boolean lockRows(Connection connection, List<String> accountNumbers,
+                                    long deadline) throws SQLException {
+        for (String accountNumber : accountNumbers) {
+            try (PreparedStatement select = connection.prepareStatement(SELECT_FOR_UPDATE)) {
+                select.setQueryTimeout(remainingSeconds(deadline));
+                select.setString(1, accountNumber);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    if (!resultSet.next()) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 락을 가진 요청만 올리므로 같은 계좌의 토큰 row 에 경쟁은 없다.
+     */
+    private List<Long> issueTokens(List<String> accountNumbers) throws SQLException {
+        try (Connection connection = fenceDataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                List<Long> tokens = new ArrayList<>(accountNumbers.size());
+                for (String accountNumber : accountNumbers) {
+                    if (increment(connection, accountNumber) == 0) {
+                        connection.commit();
+                        insertMissingRows(connection, INSERT_TOKEN, Collections.singletonList(accountNumber));
+                        increment(connection, accountNumber);
+                    }
+                    try (PreparedStatement select = connection.prepareStatement(SELECT_TOKEN)) {
+                        select.setString(1, accountNumber);
+                        try (ResultSet resultSet = select.executeQuery()) {
+                            resultSet.next();
+                            tokens.add(resultSet.getLong(1));
+                        }
+                    }
+                }
+                connection.commit();
+                return tokens;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private static int increment(Connection connection, String accountNumber) throws SQLException {
+        try (PreparedStatement increment = connection.prepareStatement(INCREMENT_TOKEN)) {
+            increment.setString(1, accountNumber);
+            return increment.executeUpdate();
+        }
+    }
+
+    private boolean isHeld(String accountNumber) {
+        for (String holdKey : heldConnections.keySet()) {
+            if (Arrays.asList(holdKey.split(",")).contains(accountNumber)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void insertMissingRows(Connection connection, String sql, List<String> accountNumbers)
+            throws SQLException {
+        for (String accountNumber : accountNumbers) {
+            try (PreparedStatement insert = connection.prepareStatement(sql)) {
+                insert.setString(1, accountNumber);
+                insert.executeUpdate();
+                connection.commit();
+            } catch (SQLException e) {
+                // 다른 요청이 먼저 만든 경우 (integrity constraint violation)
+                connection.rollback();
+                if (e.getSQLState() == null || !e.getSQLState().startsWith("23")) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static int remainingSeconds(long deadline) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        // 0 은 제한 없음이므로 최소 1초
+        return (int) Math.max(1L, (remainingMillis + 999L) / 1000L);
+    }
+
+    private static String getHoldKey(List<String> accountNumbers) {
+        return String.join(",", accountNumbers);
+    }
+
+    private static void close(Connection connection, boolean commit) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (commit) {
+                connection.commit();
+            } else {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            log.error("Failed to release account_lock rows", e);
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.error("Failed to close lock connection", e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dataSource instanceof HikariDataSource) {
+            ((HikariDataSource) dataSource).close();
+        }
+        if (fenceDataSource != dataSource && fenceDataSource instanceof HikariDataSource) {
+            ((HikariDataSource) fenceDataSource).close();
+        }
+    }
+}
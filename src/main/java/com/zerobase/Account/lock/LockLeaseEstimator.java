@@ -0,0 +1,58 @@
+package com.zerobase.Account.lock;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 최근 락 보유 시간으로 lease 를 정한다.
+ * 보유 시간은 고정 크기 ring 에 lock-free 로 기록하고,
+ * p99 는 RECOMPUTE_INTERVAL 건마다 다시 계산해 둔다. (락 획득마다 정렬하지 않도록)
+ */
+class LockLeaseEstimator {
+    private static final int SAMPLE_SIZE = 1024;
+    private static final int RECOMPUTE_INTERVAL = 64;
+
+    private final long minLeaseMillis;
+    private final long maxLeaseMillis;
+    private final double safetyFactor;
+    private final AtomicLongArray samples = new AtomicLongArray(SAMPLE_SIZE);
+    // int 면 2^31 건 이후 음수가 되어 ring 인덱스가 깨지므로 long 으로 센다.
+    private final AtomicLong recorded;
+    private volatile long leaseMillis;
+
+    LockLeaseEstimator(long minLeaseMillis, long maxLeaseMillis, double safetyFactor) {
+        this(minLeaseMillis, maxLeaseMillis, safetyFactor, 0L);
+    }
+
+    LockLeaseEstimator(long minLeaseMillis, long maxLeaseMillis, double safetyFactor, long recorded) {
+        this.recorded = new AtomicLong(recorded);
+        this.minLeaseMillis = minLeaseMillis;
+        this.maxLeaseMillis = maxLeaseMillis;
+        this.safetyFactor = safetyFactor;
+        this.leaseMillis = maxLeaseMillis;
+    }
+
+    long leaseMillis() {
+        return leaseMillis;
+    }
+
+    void record(long heldMillis) {
+        long count = recorded.incrementAndGet();
+        samples.set((int) Math.floorMod(count - 1, (long) SAMPLE_SIZE), heldMillis);
+        if (count % RECOMPUTE_INTERVAL == 0) {
+            leaseMillis = compute((int) Math.min(count, SAMPLE_SIZE));
+        }
+    }
+
+    private long compute(int size) {
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        long p99 = sorted[(int) Math.ceil(size * 0.99) - 1];
+        long lease = (long) Math.ceil(p99 * safetyFactor);
+        return Math.max(minLeaseMillis, Math.min(maxLeaseMillis, lease));
+    }
+}
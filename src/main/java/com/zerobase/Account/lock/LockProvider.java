@@ -0,0 +1,31 @@
+package com.zerobase.Account.lock;
+
+import java.util.List;
+
+/**
+ * 노드 간 계좌 락 백엔드 (account.lock.provider 로 선택)
+ * redisson : Redis 락 (여러 노드)
+ * in-jvm   : 프로세스 안에서만 유효 (단일 노드, 테스트)
+ * jdbc     : account_lock 테이블의 row lock (SELECT ... FOR UPDATE)
+ * LockService 가 같은 노드 안의 경쟁과 락 순서를 책임지므로,
+ * 구현체는 정렬된 계좌 목록을 받아 모두 얻거나 모두 포기하기만 하면 된다.
+ * lock/unlock 은 같은 스레드에서 호출된다.
+ */
+public interface LockProvider {
+    /**
+     * @param accountNumbers 계좌번호 오름차순, 중복 없음
+     * @return 계좌별 fencing token (같은 순서, 만료되지 않는 락이면 원소가 null). 제한 시간 안에 얻지 못하면 null
+     */
+    List<Long> tryLockAll(List<String> accountNumbers, long waitMillis);
+
+    void unlockAll(List<String> accountNumbers);
+
+    /**
+     * 발급한 토큰이 계좌에 기록된 토큰(storedToken)보다 작을 때 호출된다.
+     * 토큰 카운터가 유실되어 뒤처진 경우(재기동, flush, failover 등)에만
+     * 카운터를 storedToken 위로 올려 새 토큰을 발급한다.
+     * @return 새 토큰. 현재 스레드가 락을 갖고 있지 않거나 카운터가 뒤처지지 않았다면
+     *         (lease 만료 후 더 최근 보유자가 변경한 경우) null
+     */
+    Long reissue(String accountNumber, long storedToken);
+}
@@ -0,0 +1,70 @@
+package com.zerobase.Account.lock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청이 끝나지 않은 락의 lease 를 연장한다. (Redisson watchdog 과 같은 방식)
+ * lease 의 1/3 마다, 락이 여전히 이 스레드 소유일 때만 만료 시간을 lease 로 되돌린다.
+ * 노드가 죽으면 연장도 멈추므로 다른 노드는 lease 만큼만 기다리면 된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "account.lock", name = "provider", havingValue = "redisson", matchIfMissing = true)
+public class LockWatchdog {
+    // Redisson 락 hash 의 field 는 "<redisson id>:<thread id>"
+    private static final String RENEW_SCRIPT =
+            "if (redis.call('hexists', KEYS[1], ARGV[2]) == 1) then " +
+                    "redis.call('pexpire', KEYS[1], ARGV[1]); " +
+                    "return 1; " +
+                    "end; " +
+                    "return 0;";
+
+    private final RedissonClient redissonClient;
+    private final ScheduledExecutorService scheduler;
+
+    public LockWatchdog(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lock-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public ScheduledFuture<?> watch(String lockKey, long threadId, long leaseMillis) {
+        String lockName = redissonClient.getId() + ":" + threadId;
+        long periodMillis = Math.max(1L, leaseMillis / 3);
+        ScheduledFuture<?>[] self = new ScheduledFuture<?>[1];
+        self[0] = scheduler.scheduleAtFixedRate(() -> {
+            try {
+                Boolean renewed = redissonClient.getScript(StringCodec.INSTANCE).eval(lockKey,
+                        RScript.Mode.READ_WRITE, RENEW_SCRIPT, RScript.ReturnType.BOOLEAN,
+                        Collections.singletonList(lockKey), String.valueOf(leaseMillis), lockName);
+                if (!Boolean.TRUE.equals(renewed)) {
+                    log.warn("Lock {} is no longer held, stop renewing", lockKey);
+                    self[0].cancel(false);
+                }
+            } catch (Exception e) {
+                log.error("Failed to renew lock {}", lockKey, e);
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        return self[0];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
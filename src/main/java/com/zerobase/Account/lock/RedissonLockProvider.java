@@ -0,0 +1,169 @@
+package com.zerobase.Account.lock;
+
+import com.zerobase.Account.config.LockProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RFuture;
+import org.redisson.api.RLock;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.LongCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 락 백엔드
+ * Redis 락은 async API 로 요청하고 CompletableFuture 로 기다린다.
+ * (동기 API 는 Netty promise 의 monitor 에서 대기하므로 가상 스레드가 캐리어 스레드를 붙잡는다.)
+ * async API 는 스레드 id 를 명시적으로 받으므로 lock/unlock 은 같은 스레드에서 호출해야 한다.
+ * 계좌가 여러 개면 MultiLock 으로 모두 얻거나 모두 포기한다.
+ * lease 는 고정값 대신 최근 보유 시간으로 정하고(LockLeaseEstimator), 오래 걸리는 요청은 LockWatchdog 이 연장한다.
+ * fencing token 은 계좌별 Redis atomic long 으로 발급한다.
+ * 카운터가 유실되면(내장 redis 재기동, flush, AOF 없는 failover) DB 에 기록된 토큰보다 작은 값이 나오므로
+ * 락을 가진 요청이 reissue 로 카운터를 DB 값 위로 다시 올린다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "account.lock", name = "provider", havingValue = "redisson", matchIfMissing = true)
+public class RedissonLockProvider implements LockProvider {
+    // 카운터가 기록된 토큰보다 뒤처졌을 때만 그 위로 올린다.
+    private static final String REISSUE_SCRIPT =
+            "local current = tonumber(redis.call('get', KEYS[1]) or '0'); " +
+                    "if current >= tonumber(ARGV[1]) then return -1; end; " +
+                    "local next = tonumber(ARGV[1]) + 1; " +
+                    "redis.call('set', KEYS[1], next); " +
+                    "return next;";
+
+    private final RedissonClient redissonClient;
+    private final LockWatchdog lockWatchdog;
+    private final LockProperties lockProperties;
+    private final LockLeaseEstimator leaseEstimator;
+    private final ConcurrentHashMap<String, HeldLock> heldLocks = new ConcurrentHashMap<>();
+
+    public RedissonLockProvider(RedissonClient redissonClient,
+                                LockWatchdog lockWatchdog,
+                                LockProperties lockProperties) {
+        this.redissonClient = redissonClient;
+        this.lockWatchdog = lockWatchdog;
+        this.lockProperties = lockProperties;
+        this.leaseEstimator = new LockLeaseEstimator(lockProperties.getMinLease().toMillis(),
+                lockProperties.getMaxLease().toMillis(), lockProperties.getLeaseSafetyFactor());
+    }
+
+    @Override
+    public List<Long> tryLockAll(List<String> accountNumbers, long waitMillis) {
+        long threadId = Thread.currentThread().getId();
+        long leaseMillis = leaseEstimator.leaseMillis();
+        boolean isLock = await(getLock(accountNumbers).tryLockAsync(waitMillis, leaseMillis,
+                TimeUnit.MILLISECONDS, threadId));
+        if (!isLock) {
+            return null;
+        }
+
+        List<Long> tokens = new ArrayList<>(accountNumbers.size());
+        for (String accountNumber : accountNumbers) {
+            tokens.add(await(redissonClient.getAtomicLong(getFencingKey(accountNumber))
+                    .incrementAndGetAsync()));
+            heldLocks.put(accountNumber, new HeldLock(System.nanoTime(),
+                    lockProperties.isWatchdog()
+                            ? lockWatchdog.watch(getLockKey(accountNumber), threadId, leaseMillis)
+                            : null));
+        }
+        return tokens;
+    }
+
+    @Override
+    public void unlockAll(List<String> accountNumbers) {
+        List<HeldLock> released = new ArrayList<>(accountNumbers.size());
+        for (String accountNumber : accountNumbers) {
+            HeldLock heldLock = heldLocks.remove(accountNumber);
+            if (heldLock != null) {
+                heldLock.stopRenewal();
+                released.add(heldLock);
+            }
+        }
+        try {
+            await(getLock(accountNumbers).unlockAsync(Thread.currentThread().getId()));
+        } finally {
+            // 보유 시간 기록은 통계일 뿐이므로 락 해제 이후에, 실패해도 무시한다.
+            for (HeldLock heldLock : released) {
+                heldLock.record(leaseEstimator);
+            }
+        }
+    }
+
+    @Override
+    public Long reissue(String accountNumber, long storedToken) {
+        // lease 가 만료된 요청은 카운터를 올릴 수 없다. (드문 경로라 동기 API 사용)
+        if (!heldLocks.containsKey(accountNumber) || !redissonClient.getLock(getLockKey(accountNumber))
+                .isHeldByThread(Thread.currentThread().getId())) {
+            return null;
+        }
+        Long token = await(redissonClient.getScript(LongCodec.INSTANCE).evalAsync(
+                getFencingKey(accountNumber), RScript.Mode.READ_WRITE, REISSUE_SCRIPT,
+                RScript.ReturnType.INTEGER, Collections.singletonList(getFencingKey(accountNumber)),
+                storedToken));
+        return token == null || token < 0 ? null : token;
+    }
+
+    private RLock getLock(List<String> accountNumbers) {
+        if (accountNumbers.size() == 1) {
+            return redissonClient.getLock(getLockKey(accountNumbers.get(0)));
+        }
+        RLock[] locks = new RLock[accountNumbers.size()];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = redissonClient.getLock(getLockKey(accountNumbers.get(i)));
+        }
+        return redissonClient.getMultiLock(locks);
+    }
+
+    private static <T> T await(RFuture<T> future) {
+        try {
+            return future.toCompletableFuture().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static String getLockKey(String accountNumber) {
+        return "ACLK:" + accountNumber;
+    }
+
+    private static String getFencingKey(String accountNumber) {
+        return "ACLK:fence:" + accountNumber;
+    }
+
+    private static final class HeldLock {
+        private final long acquiredAt;
+        private final ScheduledFuture<?> renewal;
+
+        private HeldLock(long acquiredAt, ScheduledFuture<?> renewal) {
+            this.acquiredAt = acquiredAt;
+            this.renewal = renewal;
+        }
+
+        private void stopRenewal() {
+            if (renewal != null) {
+                renewal.cancel(false);
+            }
+        }
+
+        private void record(LockLeaseEstimator leaseEstimator) {
+            try {
+                leaseEstimator.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - acquiredAt));
+            } catch (RuntimeException e) {
+                log.warn("Failed to record lock hold time", e);
+            }
+        }
+    }
+}
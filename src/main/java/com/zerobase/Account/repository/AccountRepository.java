@@ -2,7 +2,14 @@ package com.zerobase.Account.repository;
 
 import com.zerobase.Account.domain.Account;
 import com.zerobase.Account.domain.AccountUser;
+import com.zerobase.Account.dto.AccountBalanceRow;
+import com.zerobase.Account.dto.AccountBalanceView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,4 +25,64 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByAccountNumber(String AccountNumber);
 
     List<Account> findByAccountUser(AccountUser accountUser);
+
+    /**
+     * 계좌를 그대로 응답하는 조회용 (소유자까지 한 번에 읽는다)
+     */
+    @EntityGraph(attributePaths = "accountUser")
+    Optional<Account> findWithAccountUserById(Long id);
+
+    /**
+     * 읽어온 version 이 그대로이고 잔액이 충분할 때만 차감한다.
+     * @return 반영된 row 수 (0 이면 다른 요청이 먼저 변경함)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance - :amount, " +
+            "a.version = a.version + 1, a.updatedAt = current_timestamp " +
+            "where a.id = :id and a.version = :version and a.balance >= :amount")
+    int useBalanceIfVersionMatches(@Param("id") Long id,
+                                   @Param("version") Long version,
+                                   @Param("amount") Long amount);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance + :amount, " +
+            "a.version = a.version + 1, a.updatedAt = current_timestamp " +
+            "where a.id = :id and a.version = :version")
+    int cancelBalanceIfVersionMatches(@Param("id") Long id,
+                                      @Param("version") Long version,
+                                      @Param("amount") Long amount);
+
+    /**
+     * 소유주, 계좌 상태, 잔액 검증과 차감을 하나의 UPDATE 로 처리한다.
+     * @return 반영된 row 수 (0 이면 조건 불일치)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance - :amount, " +
+            "a.version = a.version + 1, a.updatedAt = current_timestamp " +
+            "where a.accountNumber = :accountNumber and a.accountUser.id = :userId " +
+            "and a.accountStatus = com.zerobase.Account.type.AccountStatus.IN_USE " +
+            "and a.balance >= :amount")
+    int useBalanceIfEligible(@Param("accountNumber") String accountNumber,
+                             @Param("userId") Long userId,
+                             @Param("amount") Long amount);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance + :amount, " +
+            "a.version = a.version + 1, a.updatedAt = current_timestamp " +
+            "where a.accountNumber = :accountNumber")
+    int cancelBalanceByAccountNumber(@Param("accountNumber") String accountNumber,
+                                     @Param("amount") Long amount);
+
+    @Query("select a.id as id, a.balance as balance, a.version as version from Account a " +
+            "where a.accountNumber = :accountNumber")
+    Optional<AccountBalanceView> findBalanceByAccountNumber(
+            @Param("accountNumber") String accountNumber);
+
+    /**
+     * id 순서로 계좌를 나눠 읽는다. (keyset)
+     */
+    @Query("select a.id as id, a.accountUser.id as userId, a.accountNumber as accountNumber, " +
+            "a.balance as balance, a.version as version from Account a " +
+            "where a.id > :afterId order by a.id")
+    List<AccountBalanceRow> findBalanceRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -1,12 +1,85 @@
 package com.zerobase.Account.repository;
 
 import com.zerobase.Account.domain.Transaction;
+import com.zerobase.Account.dto.TransactionHistoryRow;
+import com.zerobase.Account.type.TransactionResultType;
+import com.zerobase.Account.type.TransactionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     Optional<Transaction> findByTransactionId(String transactionId);
+
+    @Query("select max(t.id) from Transaction t")
+    Long findMaxId();
+
+    /**
+     * (fromId, toId] 범위에서 계좌번호/소유자가 비어 있는 거래를 계좌 값으로 채운다.
+     * @return 반영된 row 수
+     */
+    @Transactional
+    @Modifying
+    @Query("update Transaction t set " +
+            "t.accountNumber = (select a.accountNumber from Account a where a = t.account), " +
+            "t.ownerId = (select a.accountUser.id from Account a where a = t.account) " +
+            "where t.id > :fromId and t.id <= :toId and t.accountNumber is null")
+    int backfillAccount(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * 계좌의 거래를 최신순으로 (transactedAt, id) 가 기준값보다 작은 것부터 읽는다. (keyset)
+     * (account_id, transacted_at, id) 인덱스를 따라 읽으므로 앞 페이지를 건너뛰는 비용이 없다.
+     */
+    @Query("select t.id as id, t.transactionType as transactionType, " +
+            "t.transactionResultType as transactionResultType, t.amount as amount, " +
+            "t.balanceSnapshot as balanceSnapshot, t.transactionId as transactionId, " +
+            "t.transactedAt as transactedAt from Transaction t " +
+            "where t.account.id = :accountId and t.transactedAt >= :from " +
+            "and (t.transactedAt < :beforeAt or (t.transactedAt = :beforeAt and t.id < :beforeId)) " +
+            "and t.transactionType in :transactionTypes " +
+            "and t.transactionResultType in :transactionResults " +
+            "order by t.transactedAt desc, t.id desc")
+    List<TransactionHistoryRow> findHistoryBefore(
+            @Param("accountId") Long accountId,
+            @Param("from") LocalDateTime from,
+            @Param("beforeAt") LocalDateTime beforeAt,
+            @Param("beforeId") Long beforeId,
+            @Param("transactionTypes") Collection<TransactionType> transactionTypes,
+            @Param("transactionResults") Collection<TransactionResultType> transactionResults,
+            Pageable pageable);
+
+    /**
+     * 계좌의 전체 거래를 오래된 순서로 forward-only 커서로 읽는다. (대사용 export)
+     * projection 이라 영속성 컨텍스트에 쌓이지 않으므로 건수와 관계없이 메모리가 일정하다.
+     * 트랜잭션 안에서 읽고 반드시 close 해야 한다.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select t.id as id, t.transactionType as transactionType, " +
+            "t.transactionResultType as transactionResultType, t.amount as amount, " +
+            "t.balanceSnapshot as balanceSnapshot, t.transactionId as transactionId, " +
+            "t.transactedAt as transactedAt from Transaction t " +
+            "where t.account.id = :accountId " +
+            "order by t.transactedAt, t.id")
+    Stream<TransactionHistoryRow> streamLedger(@Param("accountId") Long accountId);
 }
@@ -0,0 +1,104 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.config.ConcurrencyProperties;
+import com.zerobase.Account.exception.AccountOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 계좌별 락 대기열 입장 제어
+ * 1. 계좌마다 대기 중(보유 포함)인 요청 수와 락 보유 시간의 이동 평균(EWMA)을 유지한다.
+ * 2. 대기 인원이 상한을 넘거나, 예상 대기 시간(앞선 요청 수 x 평균 보유 시간)이
+ *    요청의 대기 한도를 넘으면 스레드를 묶어두지 않고 바로 거절한다.
+ * 대기자가 없는 계좌의 상태는 제거하므로, 유휴 뒤 첫 요청은 보유 시간 추정 없이 시작한다.
+ */
+@Component
+public class AccountAdmissionControl {
+    private static final double EWMA_WEIGHT = 0.2;
+    private static final long MIN_RETRY_AFTER_MILLIS = 100L;
+
+    private final ConcurrencyProperties concurrencyProperties;
+    private final ConcurrentHashMap<String, AccountQueue> queues = new ConcurrentHashMap<>();
+    private final Counter rejected;
+    private final LongSupplier ticker;
+
+    @Autowired
+    public AccountAdmissionControl(ConcurrencyProperties concurrencyProperties,
+                                   MeterRegistry meterRegistry) {
+        this(concurrencyProperties, meterRegistry, System::nanoTime);
+    }
+
+    AccountAdmissionControl(ConcurrencyProperties concurrencyProperties,
+                            MeterRegistry meterRegistry, LongSupplier ticker) {
+        this.concurrencyProperties = concurrencyProperties;
+        this.ticker = ticker;
+        this.rejected = meterRegistry.counter("account.lock.admission.rejected");
+    }
+
+    /**
+     * 대기열에 들어간다. 제한 시간 안에 처리될 수 없으면 AccountOverloadedException
+     */
+    public void enter(String accountNumber, long waitMillis) {
+        int[] waiters = new int[1];
+        AccountQueue queue = queues.compute(accountNumber, (key, current) -> {
+            AccountQueue target = current == null ? new AccountQueue() : current;
+            waiters[0] = ++target.waiters;
+            return target;
+        });
+
+        long estimatedWaitMillis = (long) ((waiters[0] - 1) * queue.averageHoldMillis);
+        if (waiters[0] > concurrencyProperties.getMaxWaitersPerAccount()
+                || estimatedWaitMillis > waitMillis) {
+            leave(accountNumber, false);
+            rejected.increment();
+            throw new AccountOverloadedException(Math.max(estimatedWaitMillis, MIN_RETRY_AFTER_MILLIS));
+        }
+    }
+
+    /**
+     * 락을 얻은 시점을 기록한다.
+     */
+    public void acquired(String accountNumber) {
+        AccountQueue queue = queues.get(accountNumber);
+        if (queue != null) {
+            queue.acquiredAt = ticker.getAsLong();
+        }
+    }
+
+    /**
+     * 락을 얻지 못하고 나가거나(holder = false), 락을 해제하고 나간다.(holder = true)
+     * 보유 시간은 락을 가졌던 요청이 나갈 때만 평균에 반영한다.
+     * (거절되거나 시간이 지나 포기한 대기자가 현재 보유자의 acquiredAt 을 가져가지 않도록)
+     */
+    public void leave(String accountNumber, boolean holder) {
+        queues.computeIfPresent(accountNumber, (key, queue) -> {
+            if (holder && queue.acquiredAt != 0L) {
+                double heldMillis = (ticker.getAsLong() - queue.acquiredAt)
+                        / (double) TimeUnit.MILLISECONDS.toNanos(1);
+                queue.averageHoldMillis = queue.averageHoldMillis == 0.0
+                        ? heldMillis
+                        : EWMA_WEIGHT * heldMillis + (1 - EWMA_WEIGHT) * queue.averageHoldMillis;
+                queue.acquiredAt = 0L;
+            }
+            return --queue.waiters == 0 ? null : queue;
+        });
+    }
+
+    int waiters(String accountNumber) {
+        AccountQueue queue = queues.get(accountNumber);
+        return queue == null ? 0 : queue.waiters;
+    }
+
+    private static final class AccountQueue {
+        // compute 안에서만 변경
+        private int waiters;
+        private volatile long acquiredAt;
+        private volatile double averageHoldMillis;
+    }
+}
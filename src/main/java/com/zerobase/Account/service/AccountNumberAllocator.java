@@ -0,0 +1,126 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.domain.AccountNumberSequence;
+import com.zerobase.Account.repository.AccountNumberSequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 계좌번호 발급기
+ * 1. DB 시퀀스에서 블록 단위로 일련번호 구간을 예약하고 메모리에서 소진한다.
+ * 2. 계좌번호 = 9자리 일련번호 + Luhn 체크 숫자 1자리
+ * 예약 구간은 노드 간에 겹치지 않으므로 중복 확인 조회가 필요 없다.
+ */
+@Slf4j
+@Component
+public class AccountNumberAllocator {
+    static final String SEQUENCE_NAME = "account_number";
+    private static final long MIN_SERIAL = 100_000_000L;
+    private static final long MAX_SERIAL = 999_999_999L;
+
+    private final AccountNumberSequenceRepository accountNumberSequenceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+
+    // 블록 예약 중 DB 를 기다리므로 synchronized 대신 ReentrantLock 사용 (가상 스레드 pinning 방지)
+    private final ReentrantLock lock = new ReentrantLock();
+    // guarded by lock
+    private long nextSerial;
+    private long blockEnd;
+
+    public AccountNumberAllocator(
+            AccountNumberSequenceRepository accountNumberSequenceRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${account.account-number.block-size:100}") int blockSize
+    ) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("block-size must be positive");
+        }
+        this.accountNumberSequenceRepository = accountNumberSequenceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 계좌 생성 트랜잭션이 롤백되어도 예약한 구간은 반납하지 않는다.
+        this.transactionTemplate.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    public String allocate() {
+        lock.lock();
+        try {
+            if (nextSerial >= blockEnd) {
+                reserveBlock();
+            }
+            return format(nextSerial++);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reserveBlock() {
+        Long start = transactionTemplate.execute(status -> {
+            AccountNumberSequence sequence = accountNumberSequenceRepository
+                    .findByNameForUpdate(SEQUENCE_NAME)
+                    .orElseThrow(() -> new IllegalStateException(
+                            "account number sequence is not initialized"));
+            long reserved = Math.max(sequence.getNextValue(), MIN_SERIAL);
+            sequence.setNextValue(reserved + blockSize);
+            return reserved;
+        });
+        if (start == null || start + blockSize - 1 > MAX_SERIAL) {
+            throw new IllegalStateException("account number sequence exhausted");
+        }
+        log.debug("Reserved account number block [{}, {})", start, start + blockSize);
+        nextSerial = start;
+        blockEnd = start + blockSize;
+    }
+
+    static String format(long serial) {
+        char[] digits = new char[10];
+        long value = serial;
+        for (int i = 8; i >= 0; i--) {
+            digits[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        digits[9] = (char) ('0' + luhnCheckDigit(digits));
+        return new String(digits);
+    }
+
+    /**
+     * 앞 9자리에 대한 Luhn 체크 숫자
+     */
+    static int luhnCheckDigit(char[] digits) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = 8; i >= 0; i--) {
+            int digit = digits[i] - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    public static boolean isValid(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != 10) {
+            return false;
+        }
+        char[] digits = accountNumber.toCharArray();
+        for (char c : digits) {
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return luhnCheckDigit(digits) == digits[9] - '0';
+    }
+}
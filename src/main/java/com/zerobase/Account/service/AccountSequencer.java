@@ -0,0 +1,145 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.config.ConcurrencyProperties;
+import com.zerobase.Account.type.ConcurrencyMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 계좌번호를 N개의 단일 스레드 레인 중 하나에 매핑한다.
+ * 같은 계좌의 작업은 항상 같은 레인에서 제출 순서대로 실행되므로 락이 필요 없다.
+ * 여러 계좌를 변경하는 작업(이체)은 모든 계좌의 레인을 번호 순서대로 거쳐 실행한다. (executeAll)
+ */
+@Slf4j
+@Component
+public class AccountSequencer {
+    private static final ThreadLocal<Integer> CURRENT_LANE = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final ExecutorService[] lanes;
+
+    public AccountSequencer(ConcurrencyProperties concurrencyProperties) {
+        this.enabled = concurrencyProperties.getMode() == ConcurrencyMode.SEQUENCER;
+        this.lanes = enabled
+                ? createLanes(concurrencyProperties.getSequencerLanes())
+                : new ExecutorService[0];
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public <T> CompletableFuture<T> submit(String accountNumber, Callable<T> task) {
+        return submitToLane(getLane(accountNumber), task);
+    }
+
+    private <T> CompletableFuture<T> submitToLane(int lane, Callable<T> task) {
+        if (Integer.valueOf(lane).equals(CURRENT_LANE.get())) {
+            // 이미 해당 레인 위에서 실행 중이면 그대로 실행한다. (재진입 시 교착 방지)
+            return runInline(task);
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        lanes[lane].execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 레인에 작업을 제출하고 끝날 때까지 기다린다. 작업이 던진 예외는 그대로 다시 던진다.
+     */
+    public <T> T execute(String accountNumber, Callable<T> task) throws Exception {
+        return join(submit(accountNumber, task));
+    }
+
+    /**
+     * 모든 계좌의 레인을 레인 번호 오름차순으로 차례로 점유한 뒤 마지막 레인에서 실행한다.
+     * 앞선 레인들은 작업이 끝날 때까지 대기하므로 그동안 해당 계좌들의 다른 작업이 끼어들지 않는다.
+     * 항상 같은 순서로 점유하므로 서로 반대 방향의 이체가 동시에 와도 교착 상태가 생기지 않는다.
+     */
+    public <T> T executeAll(Collection<String> accountNumbers, Callable<T> task) throws Exception {
+        TreeSet<Integer> lanes = new TreeSet<>();
+        for (String accountNumber : accountNumbers) {
+            lanes.add(getLane(accountNumber));
+        }
+        return executeInLanes(new ArrayList<>(lanes), 0, task);
+    }
+
+    private <T> T executeInLanes(List<Integer> lanes, int index, Callable<T> task) throws Exception {
+        if (index == lanes.size()) {
+            return task.call();
+        }
+        return join(submitToLane(lanes.get(index), () -> executeInLanes(lanes, index + 1, task)));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private int getLane(String accountNumber) {
+        if (!enabled) {
+            throw new IllegalStateException("Account sequencer is disabled");
+        }
+        return Math.floorMod(accountNumber.hashCode(), lanes.length);
+    }
+
+    private static <T> CompletableFuture<T> runInline(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            future.complete(task.call());
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
+    private static ExecutorService[] createLanes(int laneCount) {
+        ExecutorService[] lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            int lane = i;
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(() -> {
+                    CURRENT_LANE.set(lane);
+                    runnable.run();
+                }, "account-sequencer-" + lane);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return lanes;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.zerobase.Account.service;
 
+import com.zerobase.Account.cache.AccountSnapshotCache;
+import com.zerobase.Account.cache.AccountUserCache;
+import com.zerobase.Account.cache.BalanceProjection;
 import com.zerobase.Account.domain.Account;
 import com.zerobase.Account.domain.AccountUser;
 import com.zerobase.Account.dto.AccountDto;
 import com.zerobase.Account.exception.AccountException;
 import com.zerobase.Account.repository.AccountRepository;
-import com.zerobase.Account.repository.AccountUserRepository;
 import com.zerobase.Account.type.AccountStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -13,8 +15,9 @@ import org.springframework.stereotype.Service;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Random;
+import java.util.Optional;
 
 import static com.zerobase.Account.type.AccountStatus.IN_USE;
 import static com.zerobase.Account.type.ErrorCode.*;
@@ -24,7 +27,10 @@ import static java.util.stream.Collectors.toList;
 @RequiredArgsConstructor
 public class AccountServiceImpl implements AccountService{
     private final AccountRepository accountRepository;
-    private final AccountUserRepository accountUserRepository;
+    private final AccountUserCache accountUserCache;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final BalanceProjection balanceProjection;
 
     /**
      * 사용자가 있는지 조회
@@ -39,49 +45,20 @@ public class AccountServiceImpl implements AccountService{
         // 유저가 있는지 확인
         validateCreateAccount(accountUser);
 
-        // 랜덤 10자리 계좌 생성됨
-        String newAccountNumber = getNewAccountNumber(accountUser);
-
-        // 이미 있는 계좌 번호인지 확인
-        validateAccountNumber(newAccountNumber);
-
-        return AccountDto.fromEntity(
-                accountRepository.save(
-                        Account.builder()
-                                .accountUser(accountUser)
-                                .accountStatus(IN_USE)
-                                .accountNumber(newAccountNumber)
-                                .balance(initialBalance)
-                                .registeredAt(LocalDateTime.now())
-                                .build()
-                )
+        // 예약된 구간에서 10자리 계좌번호 발급 (중복 확인 불필요)
+        String newAccountNumber = accountNumberAllocator.allocate();
+
+        Account account = accountRepository.save(
+                Account.builder()
+                        .accountUser(accountUser)
+                        .accountStatus(IN_USE)
+                        .accountNumber(newAccountNumber)
+                        .balance(initialBalance)
+                        .registeredAt(LocalDateTime.now())
+                        .build()
         );
-    }
-
-    private String getNewAccountNumber(AccountUser accountUser) {
-        return accountRepository.findFirstByAccountUserOrderByIdDesc(accountUser)
-                .map(account -> (Long.parseLong(account.getAccountNumber())) + 1 + "")
-                .orElse(getRandomAccountTenNumber());
-    }
-
-    private void validateAccountNumber(String newAccountNumber) {
-        if(accountRepository.findByAccountNumber(newAccountNumber).isPresent()) {
-            throw new AccountException(ACCOUNTNUMBER_ALREADY_USED);
-        }
-    }
-
-    public String getRandomAccountTenNumber() {
-        //accountNumber 자동 생성
-        Random rand = new Random();
-        // 첫 숫자 1에서 9사이로 생성
-        String randomAccountTenNumber = Integer.toString(rand.nextInt(9) + 1);
-
-        // 나머지 뒷 9숫자 생성
-        for (int i = 0; i < 9; i++) {
-            int digit = rand.nextInt(10);
-            randomAccountTenNumber += Integer.toString(digit);
-        }
-        return randomAccountTenNumber;
+        balanceProjection.update(account, account.getVersion());
+        return AccountDto.fromEntity(account);
     }
 
     @Override
@@ -95,6 +72,7 @@ public class AccountServiceImpl implements AccountService{
         account.setUnregisteredAt(LocalDateTime.now());
 
         accountRepository.save(account);
+        accountSnapshotCache.evict(accountNumber);
         return AccountDto.fromEntity(account);
 
     }
@@ -122,14 +100,30 @@ public class AccountServiceImpl implements AccountService{
     @Override
     @Transactional
     public Account findAccount(Long id) {
-        return accountRepository.findById(id).get();
+        return accountRepository.findWithAccountUserById(id).get();
     }
 
+    /**
+     * 잔액 projection 에 있으면 계좌를 조회하지 않는다. (계좌번호, 잔액만 채워진다.)
+     * 없으면 DB 에서 읽고 projection 을 다시 만든다.
+     */
     @Override
     @Transactional
     public List<AccountDto> getAccountByUserId(Long userId) {
         AccountUser accountUser = getAccountUser(userId);
+        Optional<Map<String, Long>> balances = balanceProjection.get(userId);
+        if (balances.isPresent()) {
+            return balances.get().entrySet().stream()
+                    .map(balance -> AccountDto.builder()
+                            .userId(userId)
+                            .accountNumber(balance.getKey())
+                            .balance(balance.getValue())
+                            .build())
+                    .collect(toList());
+        }
+
         List<Account> accounts = accountRepository.findByAccountUser(accountUser);
+        balanceProjection.rebuild(userId, accounts);
         return accounts.stream()
                 .map(AccountDto::fromEntity)
                 .collect(toList());
@@ -137,7 +131,7 @@ public class AccountServiceImpl implements AccountService{
 
     @Override
     public AccountUser getAccountUser(Long userId) {
-        AccountUser accountUser = accountUserRepository.findById(userId)
+        AccountUser accountUser = accountUserCache.findById(userId)
                 .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
         return accountUser;
     }
@@ -0,0 +1,10 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.dto.UseBalance;
+import com.zerobase.Account.dto.UseBalanceBatch;
+
+import java.util.List;
+
+public interface BalanceBatchService {
+    UseBalanceBatch.Response useBalances(List<UseBalance.Request> requests);
+}
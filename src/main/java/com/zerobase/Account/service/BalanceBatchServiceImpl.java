@@ -0,0 +1,118 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.config.ConcurrencyProperties;
+import com.zerobase.Account.dto.UseBalance;
+import com.zerobase.Account.dto.UseBalanceBatch;
+import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.type.ConcurrencyMode;
+import com.zerobase.Account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * 잔액 일괄 사용
+ * 1. 요청을 계좌별로 묶는다. (계좌 내 순서는 요청 순서 유지)
+ * 2. 계좌마다 락(또는 시퀀서 레인)을 한 번만 잡고, 한 트랜잭션에서 순서대로 차감한다.
+ * 3. 결과는 요청 순서(index) 그대로 돌려준다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceBatchServiceImpl implements BalanceBatchService {
+    private final TransactionService transactionService;
+    private final LockService lockService;
+    private final AccountSequencer accountSequencer;
+    private final ConcurrencyProperties concurrencyProperties;
+
+    @Override
+    public UseBalanceBatch.Response useBalances(List<UseBalance.Request> requests) {
+        Map<String, List<Integer>> indexesByAccount = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            indexesByAccount.computeIfAbsent(requests.get(i).getAccountNumber(),
+                    accountNumber -> new ArrayList<>()).add(i);
+        }
+
+        UseBalanceBatch.Item[] results = new UseBalanceBatch.Item[requests.size()];
+        indexesByAccount.forEach((accountNumber, indexes) -> {
+            List<UseBalance.Request> group = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                group.add(requests.get(index));
+            }
+
+            List<UseBalanceBatch.Item> items = useAccountBalances(accountNumber, group);
+            for (int i = 0; i < indexes.size(); i++) {
+                UseBalanceBatch.Item item = items.get(i);
+                item.setIndex(indexes.get(i));
+                results[indexes.get(i)] = item;
+            }
+        });
+        return UseBalanceBatch.Response.from(Arrays.asList(results));
+    }
+
+    private List<UseBalanceBatch.Item> useAccountBalances(
+            String accountNumber, List<UseBalance.Request> group) {
+        try {
+            return guarded(accountNumber,
+                    () -> useBalancesWithRetry(accountNumber, group));
+        } catch (AccountException e) {
+            log.error("Failed to use balances for accountNumber : {}", accountNumber);
+            return failAll(group, e.getErrorCode());
+        } catch (Exception e) {
+            log.error("Failed to use balances for accountNumber : {}", accountNumber, e);
+            return failAll(group, ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 락 없는 모드에서는 다른 요청과의 충돌(@Version)을 재시도로 해결한다.
+     */
+    private List<UseBalanceBatch.Item> useBalancesWithRetry(
+            String accountNumber, List<UseBalance.Request> group) {
+        int maxRetries = concurrencyProperties.getOptimisticMaxRetries();
+        for (int retries = 0; ; retries++) {
+            try {
+                return transactionService.useBalances(accountNumber, group);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (retries >= maxRetries) {
+                    throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+                }
+            }
+        }
+    }
+
+    private <T> T guarded(String accountNumber, Callable<T> work) throws Exception {
+        ConcurrencyMode mode = concurrencyProperties.getMode();
+        if (mode == ConcurrencyMode.SEQUENCER) {
+            return accountSequencer.execute(accountNumber, work);
+        }
+        if (mode.isLockFree()) {
+            return work.call();
+        }
+
+        lockService.lock(accountNumber);
+        try {
+            return work.call();
+        } finally {
+            lockService.unlock(accountNumber);
+        }
+    }
+
+    private static List<UseBalanceBatch.Item> failAll(
+            List<UseBalance.Request> group, ErrorCode errorCode) {
+        List<UseBalanceBatch.Item> items = new ArrayList<>(group.size());
+        for (UseBalance.Request request : group) {
+            items.add(UseBalanceBatch.Item.failure(
+                    request.getAccountNumber(), request.getAmount(), errorCode));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,109 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.cache.BalanceProjection;
+import com.zerobase.Account.config.CacheProperties;
+import com.zerobase.Account.dto.AccountBalanceRow;
+import com.zerobase.Account.repository.AccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔액 projection 정합성 확인
+ * 계좌를 id 순서로 나눠 읽어 Account.balance 와 projection 값을 비교하고,
+ * 다르면 (projection 이 더 최신 version 이 아닌 한) DB 값으로 고친다.
+ * 커밋 이후 반영이 실패했거나 rebuild 와 계좌 생성이 겹쳐 빠진 경우를 복구한다.
+ * projection 은 모든 노드가 공유하므로 주기마다 한 노드만 확인한다. (check-interval 동안 유지되는 Redis 키)
+ * 한 페이지 안의 계좌는 사용자별로 묶어 HMGET 한 번으로 읽는다.
+ */
+@Slf4j
+@Component
+// @Scheduled 는 빈이 만들어질 때 등록되므로 lazy 초기화 프로필에서도 기동 시 만든다.
+@Lazy(false)
+public class BalanceProjectionChecker {
+    private static final int PAGE_SIZE = 500;
+    private static final String CLAIM_KEY = "balance:check:claim";
+
+    private final AccountRepository accountRepository;
+    private final BalanceProjection balanceProjection;
+    private final CacheProperties cacheProperties;
+    private final ObjectProvider<RedissonClient> redissonClient;
+    private final Counter mismatches;
+
+    public BalanceProjectionChecker(AccountRepository accountRepository,
+                                    BalanceProjection balanceProjection,
+                                    CacheProperties cacheProperties,
+                                    ObjectProvider<RedissonClient> redissonClient,
+                                    MeterRegistry meterRegistry) {
+        this.accountRepository = accountRepository;
+        this.balanceProjection = balanceProjection;
+        this.cacheProperties = cacheProperties;
+        this.redissonClient = redissonClient;
+        this.mismatches = meterRegistry.counter("account.balance_projection.mismatches");
+    }
+
+    @Scheduled(initialDelayString = "#{@cacheProperties.balanceProjection.checkInterval.toMillis()}",
+            fixedDelayString = "#{@cacheProperties.balanceProjection.checkInterval.toMillis()}")
+    public void check() {
+        if (!cacheProperties.getBalanceProjection().isEnabled() || !claim()) {
+            return;
+        }
+        long checked = 0;
+        long repaired = 0;
+        long afterId = 0L;
+        List<AccountBalanceRow> rows;
+        do {
+            rows = accountRepository.findBalanceRowsAfter(afterId, PageRequest.of(0, PAGE_SIZE));
+            Map<Long, List<AccountBalanceRow>> rowsByUser = new LinkedHashMap<>();
+            for (AccountBalanceRow row : rows) {
+                if (row.getUserId() != null) {
+                    rowsByUser.computeIfAbsent(row.getUserId(), key -> new ArrayList<>()).add(row);
+                }
+                afterId = row.getId();
+            }
+            for (Map.Entry<Long, List<AccountBalanceRow>> entry : rowsByUser.entrySet()) {
+                int count = balanceProjection.repairAll(entry.getKey(), entry.getValue());
+                mismatches.increment(count);
+                repaired += count;
+            }
+            checked += rows.size();
+        } while (rows.size() == PAGE_SIZE);
+
+        if (repaired > 0) {
+            log.warn("Balance projection repaired {} of {} accounts", repaired, checked);
+        }
+    }
+
+    /**
+     * 이번 주기의 확인을 이 노드가 맡는다. 키는 check-interval 뒤 만료되므로 해제하지 않는다.
+     */
+    private boolean claim() {
+        RedissonClient client = redissonClient.getIfAvailable();
+        if (client == null) {
+            return false;
+        }
+        try {
+            return client.<String>getBucket(CLAIM_KEY, StringCodec.INSTANCE).trySet(
+                    ManagementFactory.getRuntimeMXBean().getName(),
+                    cacheProperties.getBalanceProjection().getCheckInterval().toMillis(),
+                    TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.error("Failed to claim balance projection check", e);
+            return false;
+        }
+    }
+}
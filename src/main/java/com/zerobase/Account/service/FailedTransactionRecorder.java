@@ -0,0 +1,424 @@
+package com.zerobase.Account.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.Account.config.FailureRecordingProperties;
+import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.type.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 실패 거래 기록기
+ * 1. 컨트롤러는 실패 정보를 큐에 넣고 바로 응답한다. (계좌 락도 바로 해제)
+ * 2. 워커 스레드가 큐에서 꺼내 실패 거래를 제출한다. 커밋을 기다리지 않으므로 그룹 커밋으로 여러 건이 묶인다.
+ * 3. 큐가 가득 차거나 저장에 실패하면 spill 큐에 넣고, spill 스레드가 모아서 파일에 쓰고 한 번 fsync 한다.
+ *    spill 큐마저 가득 차면 버린 건수만 센다. (요청 스레드는 파일 I/O 를 기다리지 않음)
+ * 4. spill 파일은 기동 시와 큐가 비었을 때 .replaying 으로 옮겨 다시 제출하고,
+ *    모든 건이 커밋되거나 다시 spill 된 뒤에 지운다. 도중에 죽으면 다음 기동 때 다시 처리한다. (중복 가능)
+ *    다시 실패하면 재처리 간격을 30초까지 두 배씩 늘린다. (DB 장애 중 파일을 계속 다시 쓰지 않도록)
+ * 5. spill 파일은 JSON lines 형식이며, 읽을 수 없는 줄은 .quarantine 파일로 옮기고 버린 건수로 센다.
+ */
+@Slf4j
+@Component
+// 기동 시 spill 파일을 다시 처리해야 하므로 lazy 초기화 프로필에서도 바로 만든다.
+@Lazy(false)
+public class FailedTransactionRecorder {
+    private static final long IDLE_POLL_MILLIS = 200L;
+    private static final long MAX_REPLAY_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final TransactionService transactionService;
+    private final boolean async;
+    private final Path spillFile;
+    private final Path replayFile;
+    private final Path quarantineFile;
+    private final BlockingQueue<FailedTransaction> queue;
+    private final BlockingQueue<FailedTransaction> spillQueue;
+    // fsync 중 대기하므로 synchronized 대신 ReentrantLock 사용 (가상 스레드 pinning 방지)
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    private final Counter queued;
+    private final Counter spilled;
+    private final Counter dropped;
+    private volatile boolean running;
+    private volatile long replayBackoffMillis = IDLE_POLL_MILLIS;
+    private volatile long nextReplayAt = System.nanoTime();
+    private Thread worker;
+    private Thread spillWriter;
+
+    public FailedTransactionRecorder(TransactionService transactionService,
+                                     FailureRecordingProperties failureRecordingProperties,
+                                     MeterRegistry meterRegistry) {
+        this.transactionService = transactionService;
+        this.async = failureRecordingProperties.isAsync();
+        this.spillFile = Paths.get(failureRecordingProperties.getSpillFile());
+        this.replayFile = Paths.get(failureRecordingProperties.getSpillFile() + ".replaying");
+        this.quarantineFile = Paths.get(failureRecordingProperties.getSpillFile() + ".quarantine");
+        this.queue = new ArrayBlockingQueue<>(failureRecordingProperties.getQueueCapacity());
+        this.spillQueue = new ArrayBlockingQueue<>(failureRecordingProperties.getQueueCapacity());
+        this.queued = meterRegistry.counter("account.failure_records", "result", "queued");
+        this.spilled = meterRegistry.counter("account.failure_records", "result", "spilled");
+        this.dropped = meterRegistry.counter("account.failure_records", "result", "dropped");
+        meterRegistry.gaugeCollectionSize("account.failure_records.queue", Collections.emptyList(), queue);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!async) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::work, "failed-transaction-recorder");
+        worker.setDaemon(true);
+        worker.start();
+        spillWriter = new Thread(this::writeSpills, "failed-transaction-spill");
+        spillWriter.setDaemon(true);
+        spillWriter.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Thread thread : new Thread[]{worker, spillWriter}) {
+            if (thread != null) {
+                thread.interrupt();
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        }
+        // 남은 건은 다음 기동 때 처리
+        List<FailedTransaction> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        spillQueue.drainTo(remaining);
+        writeSpillOrDrop(remaining);
+    }
+
+    public void recordUse(String accountNumber, Long amount) {
+        record(new FailedTransaction(TransactionType.USE, accountNumber, amount, LocalDateTime.now()));
+    }
+
+    public void recordCancel(String accountNumber, Long amount) {
+        record(new FailedTransaction(TransactionType.CANCEL, accountNumber, amount, LocalDateTime.now()));
+    }
+
+    public void recordTransfer(String fromAccountNumber, Long amount) {
+        record(new FailedTransaction(TransactionType.TRANSFER_OUT, fromAccountNumber, amount, LocalDateTime.now()));
+    }
+
+    private void record(FailedTransaction failedTransaction) {
+        if (!async) {
+            save(failedTransaction);
+            return;
+        }
+        if (queue.offer(failedTransaction)) {
+            queued.increment();
+            return;
+        }
+        // 과부하 상황에서는 요청 스레드가 DB 나 fsync 를 기다리지 않도록 spill 스레드에 넘긴다.
+        spillLater(failedTransaction);
+    }
+
+    private void work() {
+        replaySpill();
+        while (running) {
+            try {
+                FailedTransaction failedTransaction = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (failedTransaction == null) {
+                    replaySpill();
+                    continue;
+                }
+                submit(failedTransaction).thenAccept(retry -> {
+                    if (retry) {
+                        spillLater(failedTransaction);
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // 워커가 죽으면 큐와 spill 파일을 아무도 비우지 않으므로 계속 돈다.
+                log.error("Failed transaction recorder worker failed", e);
+            }
+        }
+    }
+
+    private void writeSpills() {
+        List<FailedTransaction> batch = new ArrayList<>();
+        while (running) {
+            try {
+                FailedTransaction first = spillQueue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                spillQueue.drainTo(batch);
+                writeSpillOrDrop(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * @return 다시 시도해야 하면 true (계좌가 없는 등 다시 시도해도 안 되는 건은 버리고 false)
+     */
+    private CompletableFuture<Boolean> submit(FailedTransaction failedTransaction) {
+        CompletableFuture<?> future;
+        try {
+            future = transactionService.submitFailedTransaction(failedTransaction.transactionType,
+                    failedTransaction.accountNumber, failedTransaction.amount,
+                    failedTransaction.failedAt);
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(isRetryable(failedTransaction, e));
+        }
+        return future.handle((saved, e) -> e != null && isRetryable(failedTransaction,
+                e instanceof CompletionException ? e.getCause() : e));
+    }
+
+    private boolean isRetryable(FailedTransaction failedTransaction, Throwable e) {
+        if (e instanceof AccountException) {
+            dropped.increment();
+            log.warn("Dropped failed transaction for accountNumber : {} ({})",
+                    failedTransaction.accountNumber, ((AccountException) e).getErrorCode());
+            return false;
+        }
+        log.error("Failed to record failed transaction, spilling", e);
+        return true;
+    }
+
+    private void save(FailedTransaction failedTransaction) {
+        transactionService.saveFailedTransaction(failedTransaction.transactionType,
+                failedTransaction.accountNumber, failedTransaction.amount,
+                failedTransaction.failedAt);
+    }
+
+    void replaySpill() {
+        if (System.nanoTime() - nextReplayAt < 0 || !replaying.compareAndSet(false, true)) {
+            return;
+        }
+        List<FailedTransaction> pending;
+        try {
+            pending = claimSpill();
+        } catch (IOException e) {
+            log.error("Failed to read spill file {}", replayFile, e);
+            finishReplay(true);
+            return;
+        }
+        if (pending.isEmpty()) {
+            deleteReplayFile();
+            finishReplay(false);
+            return;
+        }
+        log.info("Replaying {} spilled failed transactions", pending.size());
+
+        List<CompletableFuture<Boolean>> results = new ArrayList<>(pending.size());
+        for (FailedTransaction failedTransaction : pending) {
+            results.add(submit(failedTransaction));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, e) -> {
+                    List<FailedTransaction> retries = new ArrayList<>();
+                    for (int i = 0; i < pending.size(); i++) {
+                        if (results.get(i).join()) {
+                            retries.add(pending.get(i));
+                        }
+                    }
+                    completeReplay(retries);
+                });
+    }
+
+    /**
+     * 다시 실패한 건을 spill 파일에 남긴 뒤에야 .replaying 을 지운다.
+     */
+    private void completeReplay(List<FailedTransaction> retries) {
+        try {
+            writeSpill(retries);
+        } catch (IOException e) {
+            // 지우지 않고 남겨 두면 다음 재처리 때 (이미 저장된 건과 함께) 다시 처리된다.
+            log.error("Failed to spill {} replayed failed transactions, keeping {}",
+                    retries.size(), replayFile, e);
+            finishReplay(true);
+            return;
+        }
+        deleteReplayFile();
+        finishReplay(!retries.isEmpty());
+    }
+
+    private void finishReplay(boolean failed) {
+        replayBackoffMillis = failed
+                ? Math.min(replayBackoffMillis * 2, MAX_REPLAY_BACKOFF_MILLIS)
+                : IDLE_POLL_MILLIS;
+        nextReplayAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(replayBackoffMillis);
+        replaying.set(false);
+    }
+
+    /**
+     * spill 파일을 .replaying 으로 옮기고 읽는다. 이전 재처리가 끝나지 않은 .replaying 이 있으면 그것을 읽는다.
+     */
+    private List<FailedTransaction> claimSpill() throws IOException {
+        spillLock.lock();
+        try {
+            if (!Files.exists(replayFile)) {
+                if (!Files.exists(spillFile)) {
+                    return Collections.emptyList();
+                }
+                Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } finally {
+            spillLock.unlock();
+        }
+
+        List<FailedTransaction> pending = new ArrayList<>();
+        List<String> corrupted = new ArrayList<>();
+        for (String line : Files.readAllLines(replayFile, StandardCharsets.UTF_8)) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                pending.add(FailedTransaction.parse(line));
+            } catch (IOException | RuntimeException e) {
+                // 쓰는 도중 죽어서 잘린 줄 등
+                corrupted.add(line);
+            }
+        }
+        if (!corrupted.isEmpty()) {
+            quarantine(corrupted);
+        }
+        return pending;
+    }
+
+    private void quarantine(List<String> lines) {
+        dropped.increment(lines.size());
+        log.error("Moving {} unreadable spill lines to {}", lines.size(), quarantineFile);
+        try {
+            append(quarantineFile, lines);
+        } catch (IOException e) {
+            log.error("Failed to write quarantine file {}", quarantineFile, e);
+        }
+    }
+
+    private void deleteReplayFile() {
+        try {
+            Files.deleteIfExists(replayFile);
+        } catch (IOException e) {
+            log.error("Failed to delete {}", replayFile, e);
+        }
+    }
+
+    private void spillLater(FailedTransaction failedTransaction) {
+        if (!spillQueue.offer(failedTransaction)) {
+            dropped.increment();
+            log.error("Dropped failed transaction for accountNumber : {}, spill queue is full",
+                    failedTransaction.accountNumber);
+        }
+    }
+
+    /**
+     * spill 큐에 쌓인 건을 지금 파일에 쓴다. (spill 스레드 없이 호출하는 테스트용)
+     */
+    void flushSpills() {
+        List<FailedTransaction> batch = new ArrayList<>();
+        spillQueue.drainTo(batch);
+        writeSpillOrDrop(batch);
+    }
+
+    private void writeSpillOrDrop(List<FailedTransaction> failedTransactions) {
+        try {
+            writeSpill(failedTransactions);
+        } catch (IOException e) {
+            dropped.increment(failedTransactions.size());
+            log.error("Dropped {} failed transactions, spill failed", failedTransactions.size(), e);
+        }
+    }
+
+    private void writeSpill(List<FailedTransaction> failedTransactions) throws IOException {
+        if (failedTransactions.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>(failedTransactions.size());
+        for (FailedTransaction failedTransaction : failedTransactions) {
+            lines.add(failedTransaction.toLine());
+        }
+        append(spillFile, lines);
+        spilled.increment(failedTransactions.size());
+    }
+
+    private void append(Path file, List<String> lines) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (String line : lines) {
+            sb.append(line).append('\n');
+        }
+        spillLock.lock();
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    private static final class FailedTransaction {
+        private final TransactionType transactionType;
+        private final String accountNumber;
+        private final Long amount;
+        private final LocalDateTime failedAt;
+
+        private FailedTransaction(TransactionType transactionType, String accountNumber,
+                                  Long amount, LocalDateTime failedAt) {
+            this.transactionType = transactionType;
+            this.accountNumber = accountNumber;
+            this.amount = amount;
+            this.failedAt = failedAt;
+        }
+
+        private String toLine() {
+            // 계좌번호에 구분자나 줄바꿈이 있어도 한 줄로 남도록 JSON 으로 이스케이프한다.
+            return OBJECT_MAPPER.createObjectNode()
+                    .put("type", transactionType.name())
+                    .put("accountNumber", accountNumber)
+                    .put("amount", amount)
+                    .put("failedAt", failedAt.toString())
+                    .toString();
+        }
+
+        private static FailedTransaction parse(String line) throws IOException {
+            JsonNode node = OBJECT_MAPPER.readTree(line);
+            return new FailedTransaction(TransactionType.valueOf(node.get("type").asText()),
+                    node.get("accountNumber").asText(), node.get("amount").asLong(),
+                    LocalDateTime.parse(node.get("failedAt").asText()));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.zerobase.Account.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 현재 스레드가 보유한 계좌 락의 fencing token
+ * LockService 가 락을 얻을 때 넣고 해제할 때 지운다.
+ * 계좌를 변경하는 쪽은 Account.fence 로 토큰을 함께 기록해서
+ * lease 가 만료된 뒤 늦게 도착한 쓰기가 DB 에서 거절되도록 한다.
+ */
+public final class FencingTokens {
+    private static final ThreadLocal<Map<String, Long>> TOKENS =
+            ThreadLocal.withInitial(HashMap::new);
+
+    private FencingTokens() {
+    }
+
+    public static Long get(String accountNumber) {
+        return TOKENS.get().get(accountNumber);
+    }
+
+    static void set(String accountNumber, Long token) {
+        if (token != null) {
+            TOKENS.get().put(accountNumber, token);
+        }
+    }
+
+    static void clear(String accountNumber) {
+        Map<String, Long> tokens = TOKENS.get();
+        tokens.remove(accountNumber);
+        if (tokens.isEmpty()) {
+            TOKENS.remove();
+        }
+    }
+}
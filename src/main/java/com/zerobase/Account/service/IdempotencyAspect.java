@@ -0,0 +1,101 @@
+package com.zerobase.Account.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.Account.aop.Idempotent;
+import com.zerobase.Account.cache.IdempotencyStore;
+import com.zerobase.Account.config.IdempotencyProperties;
+import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+/**
+ * Idempotency-Key 처리
+ * 1. 같은 key 의 처리 결과가 있으면 요청 본문이 같은지 확인하고 저장된 응답을 그대로 돌려준다.
+ * 2. 같은 key 가 처리 중이면 기다리지 않고 바로 거절한다. (클라이언트가 다시 재시도)
+ * 3. 처음 온 요청만 진행하고 성공한 응답을 저장한다.
+ *    AccountException(검증 실패, 락 획득 실패 등) 은 거래가 커밋되지 않았으므로 key 를 풀어 재시도가 다시 처리되게 한다.
+ *    그 외 예외는 커밋 여부를 알 수 없으므로 in-progress-ttl 동안 key 를 잡아둔다. (재시도가 이중 출금하지 않도록)
+ * key 는 API 별로 구분한다. (같은 key 로 use/cancel 을 각각 요청할 수 있다)
+ */
+@Aspect
+@Component
+@Slf4j
+@RequiredArgsConstructor
+// 계좌 락(LockAopAspect) 보다 먼저 실행해야 재시도가 락을 기다리지 않는다.
+@Order(0)
+public class IdempotencyAspect {
+    static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final IdempotencyProperties idempotencyProperties;
+    private final ObjectMapper objectMapper;
+
+    @Around("@annotation(idempotent)")
+    public Object aroundMethod(ProceedingJoinPoint pjp, Idempotent idempotent) throws Throwable {
+        String idempotencyKey = getIdempotencyKey();
+        if (!idempotencyProperties.isEnabled() || idempotencyKey == null) {
+            return pjp.proceed();
+        }
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        MethodSignature signature = (MethodSignature) pjp.getSignature();
+        String key = signature.getName() + ":" + idempotencyKey;
+        String fingerprint = DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(pjp.getArgs()));
+
+        Optional<IdempotencyStore.Record> record = idempotencyStore.begin(key, fingerprint);
+        if (record.isPresent()) {
+            return replay(record.get(), fingerprint, signature.getReturnType());
+        }
+
+        Object response;
+        try {
+            response = pjp.proceed();
+        } catch (AccountException e) {
+            idempotencyStore.abort(key, fingerprint);
+            throw e;
+        }
+        try {
+            idempotencyStore.complete(key, fingerprint, objectMapper.writeValueAsString(response));
+        } catch (JsonProcessingException e) {
+            // 거래는 커밋됐으므로 key 를 풀지 않는다. (in-progress-ttl 동안 재시도를 막는다)
+            log.error("Failed to serialize idempotent response for key : {}", key, e);
+        }
+        return response;
+    }
+
+    private Object replay(IdempotencyStore.Record record, String fingerprint,
+                          Class<?> responseType) throws JsonProcessingException {
+        if (!record.matches(fingerprint)) {
+            throw new AccountException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+        if (!record.isCompleted()) {
+            throw new AccountException(ErrorCode.IDEMPOTENT_REQUEST_IN_PROGRESS);
+        }
+        return objectMapper.readValue(record.getResponse(), responseType);
+    }
+
+    private static String getIdempotencyKey() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        return ((ServletRequestAttributes) attributes).getRequest().getHeader(HEADER);
+    }
+}
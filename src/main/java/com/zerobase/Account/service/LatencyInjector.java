@@ -0,0 +1,34 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.config.LatencyInjectionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 설정된 엔드포인트에 한해 인위적인 지연을 주입한다.
+ * 락 구간 안에서 호출되므로 느린 작업을 흉내낼 때만 켠다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LatencyInjector {
+    private final LatencyInjectionProperties latencyInjectionProperties;
+
+    public void inject(String endpoint) {
+        if (!latencyInjectionProperties.isEnabled()) {
+            return;
+        }
+        Long delayMillis = latencyInjectionProperties.getDelays().get(endpoint);
+        if (delayMillis == null || delayMillis <= 0) {
+            return;
+        }
+
+        log.debug("Injecting {}ms latency for endpoint : {}", delayMillis, endpoint);
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
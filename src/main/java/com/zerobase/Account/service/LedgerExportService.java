@@ -0,0 +1,17 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.type.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface LedgerExportService {
+
+    Long getAccountId(String accountNumber);
+
+    /**
+     * @return 내보낸 거래 수
+     */
+    long exportLedger(Long accountId, String accountNumber, ExportFormat format,
+                      OutputStream outputStream) throws IOException;
+}
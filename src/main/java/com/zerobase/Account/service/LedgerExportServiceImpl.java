@@ -0,0 +1,121 @@
+package com.zerobase.Account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zerobase.Account.dto.AccountBalanceView;
+import com.zerobase.Account.dto.TransactionDto;
+import com.zerobase.Account.dto.TransactionHistoryRow;
+import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.repository.AccountRepository;
+import com.zerobase.Account.repository.TransactionRepository;
+import com.zerobase.Account.type.ErrorCode;
+import com.zerobase.Account.type.ExportFormat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 계좌 원장 export (대사용)
+ * DB 커서로 한 건씩 읽어 바로 응답에 쓰므로 전체 결과를 메모리에 모으지 않는다.
+ * 출력은 버퍼가 찰 때만 내보내고, 한 건마다 flush 하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LedgerExportServiceImpl implements LedgerExportService {
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER =
+            "accountNumber,transactionType,transactionResultType,amount,balanceSnapshot,transactionId,transactedAt";
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 응답을 쓰기 시작하기 전에 계좌를 확인한다. (스트리밍 중에는 에러 응답으로 바꿀 수 없음)
+     */
+    @Override
+    public Long getAccountId(String accountNumber) {
+        return accountRepository.findBalanceByAccountNumber(accountNumber)
+                .map(AccountBalanceView::getId)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+    }
+
+    @Override
+    @Transactional
+    public long exportLedger(Long accountId, String accountNumber, ExportFormat format,
+                             OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        long rows;
+        try (Stream<TransactionHistoryRow> ledger = transactionRepository.streamLedger(accountId)) {
+            Iterator<TransactionHistoryRow> iterator = ledger.iterator();
+            rows = format == ExportFormat.CSV
+                    ? writeCsv(iterator, accountNumber, writer)
+                    : writeNdjson(iterator, accountNumber, writer);
+        }
+        writer.flush();
+        log.info("Exported {} transactions of accountNumber : {} as {}", rows, accountNumber, format);
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<TransactionHistoryRow> iterator, String accountNumber,
+                             Writer writer) throws IOException {
+        SequenceWriter sequenceWriter = objectMapper.writerFor(TransactionDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(writer);
+        long rows = 0;
+        while (iterator.hasNext()) {
+            sequenceWriter.write(TransactionDto.fromRow(iterator.next(), accountNumber));
+            rows++;
+        }
+        // 닫으면 응답 스트림까지 닫히므로 남은 버퍼만 내보낸다.
+        sequenceWriter.flush();
+        if (rows > 0) {
+            writer.write('\n');
+        }
+        return rows;
+    }
+
+    private static long writeCsv(Iterator<TransactionHistoryRow> iterator, String accountNumber,
+                                 Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long rows = 0;
+        while (iterator.hasNext()) {
+            TransactionHistoryRow row = iterator.next();
+            writer.write(accountNumber);
+            writeField(writer, row.getTransactionType());
+            writeField(writer, row.getTransactionResultType());
+            writeField(writer, row.getAmount());
+            writeField(writer, row.getBalanceSnapshot());
+            writeField(writer, row.getTransactionId());
+            writeField(writer, row.getTransactedAt());
+            writer.write('\n');
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * 값에 구분자가 들어가지 않으므로 따옴표 처리는 하지 않는다. (null 은 빈 값)
+     */
+    private static void writeField(Writer writer, Object value) throws IOException {
+        writer.write(',');
+        if (value != null) {
+            writer.write(value.toString());
+        }
+    }
+}
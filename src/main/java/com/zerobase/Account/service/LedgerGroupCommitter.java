@@ -0,0 +1,212 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.config.LedgerProperties;
+import com.zerobase.Account.domain.Transaction;
+import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.repository.TransactionRepository;
+import com.zerobase.Account.type.ErrorCode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 거래 row 그룹 커밋
+ * 1. 요청 스레드는 row 를 큐에 넣고 future 를 기다린다.
+ * 2. flusher 스레드는 max-rows 개가 모이거나 max-delay 가 지나면 한 트랜잭션으로 저장/커밋한다.
+ * 3. 커밋이 끝난 뒤에 future 를 완료하므로, 호출자 입장에서는 건별 커밋과 같은 내구성을 가진다.
+ * 잔액 변경과 같은 트랜잭션에 있어야 하는 성공 거래는 대상이 아니다. (실패 거래 등 독립된 row 전용)
+ */
+@Slf4j
+@Component
+public class LedgerGroupCommitter {
+    private static final long IDLE_POLL_MILLIS = 100L;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxRows;
+    private final long maxDelayNanos;
+    private final long writeTimeoutNanos;
+    private final BlockingQueue<PendingRow> queue;
+    private final DistributionSummary batchSizes;
+    private volatile boolean running;
+    private Thread flusher;
+
+    public LedgerGroupCommitter(TransactionRepository transactionRepository,
+                                PlatformTransactionManager transactionManager,
+                                LedgerProperties ledgerProperties,
+                                MeterRegistry meterRegistry) {
+        LedgerProperties.GroupCommit groupCommit = ledgerProperties.getGroupCommit();
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = groupCommit.isEnabled();
+        this.maxRows = groupCommit.getMaxRows();
+        this.maxDelayNanos = groupCommit.getMaxDelay().toNanos();
+        this.writeTimeoutNanos = groupCommit.getWriteTimeout().toNanos();
+        this.queue = new ArrayBlockingQueue<>(groupCommit.getQueueCapacity());
+        this.batchSizes = meterRegistry.summary("account.ledger.group_commit.rows");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "ledger-group-commit");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 큐가 가득 차면 write-timeout 까지만 기다리고, 그래도 자리가 없으면
+     * RejectedExecutionException 으로 실패한 future 를 돌려준다. (저장되지 않았으므로 다시 시도해도 된다)
+     */
+    public CompletableFuture<Transaction> submit(Transaction transaction) {
+        return submit(transaction, System.nanoTime() + writeTimeoutNanos);
+    }
+
+    private CompletableFuture<Transaction> submit(Transaction transaction, long deadline) {
+        if (!running) {
+            throw new IllegalStateException("Ledger group commit is not running");
+        }
+        PendingRow row = new PendingRow(transaction);
+        try {
+            // 큐가 가득 차면 기다린다. (flusher 가 따라잡을 때까지 요청 스레드에 배압)
+            if (!queue.offer(row, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                CompletableFuture<Transaction> rejected = new CompletableFuture<>();
+                rejected.completeExceptionally(
+                        new RejectedExecutionException("Ledger group commit queue is full"));
+                return rejected;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+        return row.future;
+    }
+
+    /**
+     * 큐에 넣고 row 가 커밋될 때까지, 합쳐서 최대 write-timeout 동안 기다린다.
+     * 커밋을 기다리다 시간이 지나면 row 는 큐에 남아 나중에 커밋될 수 있다. (호출자는 결과를 알 수 없음)
+     */
+    public Transaction write(Transaction transaction) {
+        long deadline = System.nanoTime() + writeTimeoutNanos;
+        try {
+            return submit(transaction, deadline).get(
+                    Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                log.error("Ledger group commit queue stayed full for {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+                throw new AccountException(ErrorCode.INTERNAL_SERVER_ERROR);
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            log.error("Ledger group commit did not finish within {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+            throw new AccountException(ErrorCode.INTERNAL_SERVER_ERROR);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingRow> batch = new ArrayList<>(maxRows);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRow first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<PendingRow> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < maxRows) {
+            queue.drainTo(batch, maxRows - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxRows || remaining <= 0) {
+                return;
+            }
+            PendingRow next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingRow> batch) {
+        List<Transaction> transactions = new ArrayList<>(batch.size());
+        for (PendingRow row : batch) {
+            transactions.add(row.transaction);
+        }
+        try {
+            transactionTemplate.execute(status -> transactionRepository.saveAll(transactions));
+            batchSizes.record(batch.size());
+        } catch (RuntimeException e) {
+            log.error("Ledger group commit failed for {} rows", batch.size(), e);
+            for (PendingRow row : batch) {
+                row.future.completeExceptionally(e);
+            }
+            return;
+        }
+        for (PendingRow row : batch) {
+            row.future.complete(row.transaction);
+        }
+    }
+
+    private static final class PendingRow {
+        private final Transaction transaction;
+        private final CompletableFuture<Transaction> future = new CompletableFuture<>();
+
+        private PendingRow(Transaction transaction) {
+            this.transaction = transaction;
+        }
+    }
+}
@@ -1,27 +1,54 @@
 package com.zerobase.Account.service;
 
+import com.zerobase.Account.aop.AccountLock;
 import com.zerobase.Account.aop.AccountLockIdInterface;
+import com.zerobase.Account.config.ConcurrencyProperties;
+import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.type.ConcurrencyMode;
+import com.zerobase.Account.type.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+
 @Aspect
 @Component
 @Slf4j
 @RequiredArgsConstructor
+// IdempotencyAspect 다음에 실행한다.
+@Order(1)
 public class LockAopAspect {
     private final LockService lockService;
+    private final ConcurrencyProperties concurrencyProperties;
+    private final AccountSequencer accountSequencer;
 
-    @Around("@annotation(com.zerobase.Account.aop.AccountLock) && args(request) " )
+    @Around("@annotation(accountLock) && args(request) " )
     public Object aroundMethod(
             ProceedingJoinPoint pjp,
+            AccountLock accountLock,
             AccountLockIdInterface request
     ) throws Throwable {
+        Collection<String> accountNumbers = request.getAccountNumbers();
+        if (accountNumbers.size() > 1) {
+            return aroundMultiAccount(pjp, accountLock, accountNumbers);
+        }
+        if (concurrencyProperties.getMode() == ConcurrencyMode.SEQUENCER) {
+            // 계좌 레인에서 순차 실행되므로 락 없이 진행
+            return accountSequencer.execute(request.getAccountNumber(), () -> proceed(pjp));
+        }
+        if (concurrencyProperties.getMode().isLockFree()) {
+            // 조건부 UPDATE 로 보호되므로 락 없이 진행
+            return pjp.proceed();
+        }
+
         // lock 취득 시도
-        lockService.lock(request.getAccountNumber());
+        lockService.lock(request.getAccountNumber(), accountLock.tryLockTime());
         try {
             // before
             return pjp.proceed();
@@ -31,4 +58,48 @@ public class LockAopAspect {
             lockService.unlock(request.getAccountNumber());
         }
     }
+
+    /**
+     * 여러 계좌를 변경하는 요청
+     * redis-lock 모드에서는 모든 계좌의 락을 정해진 순서로 잡는다.
+     * sequencer 모드에서는 모든 계좌의 레인을 정해진 순서로 거쳐 실행한다.
+     * (레인 밖에서 실행하면 레인 안의 단일 계좌 요청이 @Version 충돌로 실패한다)
+     * 그 외 모드에서는 조건부 UPDATE 로 묶을 수 없으므로 락 없이 진행하고,
+     * 다른 요청과의 충돌(@Version)은 다시 실행해서 해결한다.
+     */
+    private Object aroundMultiAccount(ProceedingJoinPoint pjp, AccountLock accountLock,
+                                      Collection<String> accountNumbers) throws Throwable {
+        if (concurrencyProperties.getMode() == ConcurrencyMode.SEQUENCER) {
+            return accountSequencer.executeAll(accountNumbers, () -> proceed(pjp));
+        }
+        if (concurrencyProperties.getMode() != ConcurrencyMode.REDIS_LOCK) {
+            int maxRetries = concurrencyProperties.getOptimisticMaxRetries();
+            for (int retries = 0; ; retries++) {
+                try {
+                    return pjp.proceed();
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    if (retries >= maxRetries) {
+                        throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+                    }
+                }
+            }
+        }
+
+        lockService.lockAll(accountNumbers, accountLock.tryLockTime());
+        try {
+            return pjp.proceed();
+        } finally {
+            lockService.unlockAll(accountNumbers);
+        }
+    }
+
+    private static Object proceed(ProceedingJoinPoint pjp) throws Exception {
+        try {
+            return pjp.proceed();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
 }
@@ -1,44 +1,245 @@
 package com.zerobase.Account.service;
 
 import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.lock.LockProvider;
 import com.zerobase.Account.type.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * 계좌 단위 락
+ * 1. 같은 노드의 경쟁자는 계좌별 로컬 락에서 먼저 줄을 선다. (참조하는 요청이 없으면 제거)
+ * 2. 로컬 락을 얻은 요청만 LockProvider(redisson, in-jvm, jdbc) 의 락을 시도한다.
+ * 로컬 락은 공정(fair) 모드라 먼저 온 요청부터 얻고,
+ * 대기열에 들어가기 전 AccountAdmissionControl 이 기한 내 처리가 불가능한 요청을 바로 거절한다.
+ * 락을 얻을 때마다 발급된 계좌별 fencing token 을 FencingTokens 에 넣어둔다.
+ * lock/unlock 은 같은 스레드에서 호출해야 한다.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class LockService {
-    private final RedissonClient redissonClient;
+    private static final long LOCK_WAIT_MILLIS = 1000L;
+
+    private final LockProvider lockProvider;
+    private final AccountAdmissionControl accountAdmissionControl;
+    private final ConcurrentHashMap<String, LocalLock> localLocks = new ConcurrentHashMap<>();
 
     public String lock(String accountNumber) {
-        RLock lock = redissonClient.getLock(getLockKey(accountNumber));
-        log.debug("Trying lock for accountNumber : {}", accountNumber);
+        return lock(accountNumber, LOCK_WAIT_MILLIS);
+    }
+
+    public String lock(String accountNumber, long waitMillis) {
+        lockAll(Collections.singletonList(accountNumber), waitMillis);
+        return "Lock success";
+    }
+
+    /**
+     * 여러 계좌의 락을 한 번에 잡는다. (이체 등)
+     * 로컬 락과 LockProvider 락 모두 계좌번호 오름차순으로 잡으므로
+     * 서로 반대 방향의 이체가 동시에 와도 교착 상태가 생기지 않는다.
+     */
+    public void lockAll(Collection<String> accountNumbers, long waitMillis) {
+        List<String> ordered = canonicalOrder(accountNumbers);
+        enterAll(ordered, waitMillis);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        List<ReentrantLock> locks = retainLocalLocks(ordered);
+        log.debug("Trying local lock for accountNumbers : {}", ordered);
 
         try {
-            boolean isLock = lock.tryLock(1, 15, TimeUnit.SECONDS);
-            if (!isLock) {
+            acquireLocalLocks(locks, deadline);
+        } catch (AccountException e) {
+            dereferenceLocalLocks(ordered);
+            leaveAll(ordered, false);
+            throw e;
+        }
+
+        log.debug("Trying lock for accountNumbers : {}", ordered);
+        try {
+            List<Long> tokens = lockProvider.tryLockAll(ordered, remainingMillis(deadline));
+            if (tokens == null) {
                 log.error("=============================Lock acuisition failed==============================");
+                releaseLocalLocks(ordered, locks);
+                leaveAll(ordered, false);
                 throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
             }
+            for (int i = 0; i < ordered.size(); i++) {
+                FencingTokens.set(ordered.get(i), tokens.get(i));
+            }
         } catch (AccountException e) {
             throw e;
         } catch (Exception e) {
-            log.error("Redis lock failed",e);
+            // 락을 얻었는지 알 수 없으므로(토큰 발급 실패 등) 잡았을 수 있는 락까지 모두 풀고 실패로 응답한다.
+            log.error("Lock provider failed for accountNumbers : {}", ordered, e);
+            releaseProviderLocks(ordered);
+            releaseLocalLocks(ordered, locks);
+            leaveAll(ordered, false);
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+        for (String accountNumber : ordered) {
+            accountAdmissionControl.acquired(accountNumber);
         }
-        return "Lock success";
     }
 
     public void unlock(String accountNumber) {
-        log.debug("Unlock for accountNumber : {}", accountNumber);
-        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+        unlockAll(Collections.singletonList(accountNumber));
+    }
+
+    public void unlockAll(Collection<String> accountNumbers) {
+        List<String> ordered = canonicalOrder(accountNumbers);
+        log.debug("Unlock for accountNumbers : {}", ordered);
+        for (String accountNumber : ordered) {
+            FencingTokens.clear(accountNumber);
+        }
+        try {
+            lockProvider.unlockAll(ordered);
+        } catch (Exception e) {
+            // 거래는 이미 끝났으므로 실패로 응답하지 않는다. (lease 만료, Redis 오류 등, 락은 lease 가 지나면 풀린다)
+            log.error("Failed to unlock accountNumbers : {}", ordered, e);
+        } finally {
+            releaseLocalLocks(ordered, heldLocalLocks(ordered));
+            leaveAll(ordered, true);
+        }
+    }
+
+    /**
+     * 현재 스레드가 가진 fencing token 이 계좌에 기록된 토큰보다 작을 때 호출한다.
+     * LockProvider 의 카운터가 유실되어 뒤처진 경우에만 새 토큰을 받아 FencingTokens 를 바꾼다.
+     * @return 새 토큰, lease 가 만료된 늦은 쓰기라면 null
+     */
+    public Long reissueFencingToken(String accountNumber, long storedToken) {
+        Long token;
+        try {
+            token = lockProvider.reissue(accountNumber, storedToken);
+        } catch (Exception e) {
+            log.error("Failed to reissue fencing token for accountNumber : {}", accountNumber, e);
+            return null;
+        }
+        if (token != null) {
+            log.warn("Fencing counter of {} was behind stored token {}, reissued {}",
+                    accountNumber, storedToken, token);
+            FencingTokens.set(accountNumber, token);
+        }
+        return token;
+    }
+
+    private void releaseProviderLocks(List<String> ordered) {
+        for (String accountNumber : ordered) {
+            FencingTokens.clear(accountNumber);
+        }
+        try {
+            lockProvider.unlockAll(ordered);
+        } catch (Exception e) {
+            // 잡지 못한 락이면 여기서 실패한다. 잡은 락이라도 lease 가 지나면 풀린다.
+            log.warn("Failed to release locks after lock provider failure : {}", ordered, e);
+        }
+    }
+
+    private void enterAll(List<String> ordered, long waitMillis) {
+        for (int i = 0; i < ordered.size(); i++) {
+            try {
+                accountAdmissionControl.enter(ordered.get(i), waitMillis);
+            } catch (AccountException e) {
+                leaveAll(ordered.subList(0, i), false);
+                throw e;
+            }
+        }
+    }
+
+    private void leaveAll(List<String> accountNumbers, boolean holder) {
+        for (String accountNumber : accountNumbers) {
+            accountAdmissionControl.leave(accountNumber, holder);
+        }
+    }
+
+    private void acquireLocalLocks(List<ReentrantLock> locks, long deadline) {
+        for (int i = 0; i < locks.size(); i++) {
+            try {
+                if (!locks.get(i).tryLock(remainingMillis(deadline), TimeUnit.MILLISECONDS)) {
+                    log.error("Local lock acquisition failed");
+                    unlockLocalLocks(locks.subList(0, i));
+                    throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unlockLocalLocks(locks.subList(0, i));
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+        }
+    }
+
+    /**
+     * 계좌별 로컬 락을 참조한다. 참조가 남아 있는 동안에는 맵에서 제거되지 않는다.
+     */
+    private List<ReentrantLock> retainLocalLocks(List<String> ordered) {
+        List<ReentrantLock> locks = new ArrayList<>(ordered.size());
+        for (String accountNumber : ordered) {
+            locks.add(localLocks.compute(accountNumber, (key, current) -> {
+                LocalLock target = current == null ? new LocalLock() : current;
+                target.references++;
+                return target;
+            }).lock);
+        }
+        return locks;
+    }
+
+    private List<ReentrantLock> heldLocalLocks(List<String> ordered) {
+        List<ReentrantLock> locks = new ArrayList<>(ordered.size());
+        for (String accountNumber : ordered) {
+            LocalLock localLock = localLocks.get(accountNumber);
+            if (localLock != null) {
+                locks.add(localLock.lock);
+            }
+        }
+        return locks;
+    }
+
+    private void releaseLocalLocks(List<String> ordered, List<ReentrantLock> locks) {
+        unlockLocalLocks(locks);
+        dereferenceLocalLocks(ordered);
     }
-    private static String getLockKey(String accountNumber) {
-        return "ACLK:" + accountNumber;
+
+    private void dereferenceLocalLocks(List<String> ordered) {
+        for (String accountNumber : ordered) {
+            localLocks.computeIfPresent(accountNumber,
+                    (key, current) -> --current.references == 0 ? null : current);
+        }
+    }
+
+    private static void unlockLocalLocks(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            if (locks.get(i).isHeldByCurrentThread()) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    int localLockCount() {
+        return localLocks.size();
+    }
+
+    private static List<String> canonicalOrder(Collection<String> accountNumbers) {
+        return new ArrayList<>(new TreeSet<>(accountNumbers));
+    }
+
+    private static long remainingMillis(long deadline) {
+        return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    private static final class LocalLock {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        // compute 안에서만 변경
+        private int references;
     }
 }
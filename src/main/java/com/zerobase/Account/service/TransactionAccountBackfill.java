@@ -0,0 +1,44 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.config.BackfillProperties;
+import com.zerobase.Account.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 거래 row 에 계좌번호/소유자를 채우는 백필
+ * id 범위를 batch-size 씩 나눠 범위마다 별도 트랜잭션으로 UPDATE 하므로
+ * 긴 트랜잭션이나 큰 undo 없이 운영 중에도 돌릴 수 있고, 중단되면 다시 켜서 이어가면 된다.
+ * (이미 채워진 row 는 건너뛴다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "account.backfill", name = "transaction-account", havingValue = "true")
+public class TransactionAccountBackfill implements ApplicationRunner {
+    private final TransactionRepository transactionRepository;
+    private final BackfillProperties backfillProperties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        backfill();
+    }
+
+    public long backfill() {
+        Long maxId = transactionRepository.findMaxId();
+        if (maxId == null) {
+            return 0;
+        }
+        long batchSize = backfillProperties.getBatchSize();
+        long updated = 0;
+        for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+            updated += transactionRepository.backfillAccount(fromId, Math.min(fromId + batchSize, maxId));
+        }
+        log.info("Backfilled account number of {} transactions (max id {})", updated, maxId);
+        return updated;
+    }
+}
@@ -0,0 +1,88 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.domain.TransactionIdConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간순으로 정렬되는 64bit 거래 ID 생성기 (Snowflake 방식)
+ * [41bit 밀리초 타임스탬프][10bit 노드][12bit 시퀀스]
+ * - 노드 내에서 단조 증가하며 CAS 만 사용하므로 락이 없다.
+ * - 외부에는 16자리 hex 문자열로 노출한다. (TransactionIdConverter)
+ * - 노드 ID 가 겹치면 같은 ID 가 만들어질 수 있으므로 노드마다 명시적으로 지정해야 한다.
+ *   지정하지 않으면 기동에 실패한다. 내장 redis 로 띄우는 로컬 단일 노드에서만 0 을 사용한다.
+ */
+@Slf4j
+@Component
+// node-id 누락을 첫 요청이 아니라 기동 시에 알 수 있도록 lazy 초기화 프로필에서도 바로 만든다.
+@Lazy(false)
+public class TransactionIdGenerator {
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private final AtomicLong lastId = new AtomicLong();
+
+    @Autowired
+    public TransactionIdGenerator(@Value("${account.transaction-id.node-id:-1}") long nodeId,
+                                  @Value("${account.redis.embedded:true}") boolean embeddedRedis) {
+        this(resolveNodeId(nodeId, embeddedRedis));
+    }
+
+    public TransactionIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    private static long resolveNodeId(long nodeId, boolean embeddedRedis) {
+        if (nodeId >= 0) {
+            return nodeId;
+        }
+        if (!embeddedRedis) {
+            throw new IllegalStateException(
+                    "account.transaction-id.node-id must be set to a unique value per node");
+        }
+        log.info("account.transaction-id.node-id is not set, using 0 for a single local node");
+        return 0;
+    }
+
+    public String nextTransactionId() {
+        return TransactionIdConverter.toExternalId(nextId());
+    }
+
+    public long nextId() {
+        while (true) {
+            long last = lastId.get();
+            long lastTimestamp = last >>> TIMESTAMP_SHIFT;
+            long timestamp = System.currentTimeMillis() - EPOCH_MILLIS;
+
+            long next;
+            if (timestamp > lastTimestamp) {
+                next = (timestamp << TIMESTAMP_SHIFT) | (nodeId << SEQUENCE_BITS);
+            } else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                // 같은 밀리초(또는 시계가 뒤로 간 경우)에는 시퀀스만 증가
+                next = last + 1;
+            } else {
+                // 시퀀스 소진 시 다음 밀리초를 미리 사용하여 단조 증가를 유지
+                next = ((lastTimestamp + 1) << TIMESTAMP_SHIFT) | (nodeId << SEQUENCE_BITS);
+            }
+
+            if (lastId.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+}
@@ -4,15 +4,27 @@ import com.zerobase.Account.domain.Account;
 import com.zerobase.Account.domain.AccountUser;
 import com.zerobase.Account.domain.Transaction;
 import com.zerobase.Account.dto.TransactionDto;
+import com.zerobase.Account.dto.TransactionHistory;
+import com.zerobase.Account.dto.UseBalance;
+import com.zerobase.Account.dto.UseBalanceBatch;
 import com.zerobase.Account.type.TransactionResultType;
 import com.zerobase.Account.type.TransactionType;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 public interface TransactionService {
 
     TransactionDto useBalance(Long userId, String accountNumber, Long amount);
 
     void validateUseBalance(AccountUser user, Account account, Long amount);
 
+    List<UseBalanceBatch.Item> useBalances(String accountNumber, List<UseBalance.Request> requests);
+
+    List<TransactionDto> transferBalance(Long userId, String fromAccountNumber,
+                                         String toAccountNumber, Long amount);
+
 
     void saveFailedUseTransaction(String accountNumber, Long amount);
 
@@ -32,5 +44,15 @@ public interface TransactionService {
 
     void saveFailedCancelTransaction(String accountNumber, Long amount);
 
+    void saveFailedTransaction(TransactionType transactionType, String accountNumber,
+                               Long amount, LocalDateTime transactedAt);
+
+    CompletableFuture<Transaction> submitFailedTransaction(TransactionType transactionType,
+                                                           String accountNumber, Long amount,
+                                                           LocalDateTime transactedAt);
+
     TransactionDto queryTransaction(String transactionId);
+
+    TransactionHistory.Page queryTransactionHistory(String accountNumber,
+                                                    TransactionHistory.Condition condition);
 }
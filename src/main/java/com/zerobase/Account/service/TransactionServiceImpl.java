@@ -1,51 +1,103 @@
 package com.zerobase.Account.service;
 
+import com.zerobase.Account.cache.AccountSnapshot;
+import com.zerobase.Account.cache.AccountSnapshotCache;
+import com.zerobase.Account.cache.AccountUserCache;
+import com.zerobase.Account.cache.BalanceProjection;
+import com.zerobase.Account.config.ConcurrencyProperties;
 import com.zerobase.Account.domain.Account;
 import com.zerobase.Account.domain.AccountUser;
 import com.zerobase.Account.domain.Transaction;
+import com.zerobase.Account.dto.AccountBalanceView;
 import com.zerobase.Account.dto.TransactionDto;
+import com.zerobase.Account.dto.TransactionHistory;
+import com.zerobase.Account.dto.TransactionHistoryRow;
+import com.zerobase.Account.dto.UseBalance;
+import com.zerobase.Account.dto.UseBalanceBatch;
 import com.zerobase.Account.exception.AccountException;
 import com.zerobase.Account.repository.AccountRepository;
-import com.zerobase.Account.repository.AccountUserRepository;
 import com.zerobase.Account.repository.TransactionRepository;
 import com.zerobase.Account.type.AccountStatus;
+import com.zerobase.Account.type.ConcurrencyMode;
 import com.zerobase.Account.type.ErrorCode;
 import com.zerobase.Account.type.TransactionResultType;
 import com.zerobase.Account.type.TransactionType;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 
 import static com.zerobase.Account.type.TransactionResultType.F;
 import static com.zerobase.Account.type.TransactionResultType.S;
 import static com.zerobase.Account.type.TransactionType.CANCEL;
+import static com.zerobase.Account.type.TransactionType.TRANSFER_IN;
+import static com.zerobase.Account.type.TransactionType.TRANSFER_OUT;
 import static com.zerobase.Account.type.TransactionType.USE;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService{
+    private static final String OPTIMISTIC_RETRY_METRIC = "account.balance.optimistic.retries";
+    private static final String OPTIMISTIC_EXHAUSTED_METRIC = "account.balance.optimistic.exhausted";
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final LocalDateTime HISTORY_MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime HISTORY_MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     private final TransactionRepository transactionRepository;
-    private final AccountUserRepository accountUserRepository;
+    private final AccountUserCache accountUserCache;
     private final AccountRepository accountRepository;
+    private final ConcurrencyProperties concurrencyProperties;
+    private final MeterRegistry meterRegistry;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final LedgerGroupCommitter ledgerGroupCommitter;
+    private final BalanceProjection balanceProjection;
+    private final LockService lockService;
 
     @Transactional
     @Override
     public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
-        AccountUser user = accountUserRepository.findById(userId)
+        if (concurrencyProperties.getMode() == ConcurrencyMode.ATOMIC) {
+            return useBalanceAtomically(userId, accountNumber, amount);
+        }
+
+        AccountUser user = accountUserCache.findById(userId)
                 .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
 
+        if (concurrencyProperties.getMode() == ConcurrencyMode.OPTIMISTIC) {
+            Account account = updateOptimistically(accountNumber,
+                    target -> validateUseBalance(user, target, amount),
+                    target -> accountRepository.useBalanceIfVersionMatches(
+                            target.getId(), target.getVersion(), amount));
+            account.useBalance(amount);
+            publishBalance(account, account.getVersion());
+            return TransactionDto.fromEntity(
+                    saveAndGetTransaction(USE, S, account, amount)
+            );
+        }
+
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
         validateUseBalance(user, account, amount);
 
+        fence(account);
         account.useBalance(amount);
+        publishBalance(account, nextVersion(account));
 
         return TransactionDto.fromEntity(
                 saveAndGetTransaction(USE, S, account, amount)
@@ -63,22 +115,227 @@ public class TransactionServiceImpl implements TransactionService{
         if (amount > account.getBalance()) {
             throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
         }
+        validateUseAmount(amount);
+    }
+
+    /**
+     * 한 계좌에 대한 여러 건의 잔액 사용을 한 트랜잭션에서 순서대로 처리한다.
+     * 계좌는 한 번만 읽고, 성공/실패 거래는 모아서 한 번에 저장(JDBC batch insert)한다.
+     * 호출자가 계좌 단위 동시성 제어(락 또는 시퀀서)를 책임진다.
+     */
+    @Transactional
+    @Override
+    public List<UseBalanceBatch.Item> useBalances(
+            String accountNumber, List<UseBalance.Request> requests) {
+        List<UseBalanceBatch.Item> items = new ArrayList<>(requests.size());
+        Optional<Account> found = accountRepository.findByAccountNumber(accountNumber);
+        if (!found.isPresent()) {
+            for (UseBalance.Request request : requests) {
+                items.add(UseBalanceBatch.Item.failure(
+                        accountNumber, request.getAmount(), ErrorCode.ACCOUNT_NOT_FOUND));
+            }
+            return items;
+        }
+
+        Account account = found.get();
+        Long version = account.getVersion();
+        Long fencingToken = account.getFencingToken();
+        fence(account);
+        List<Transaction> transactions = new ArrayList<>(requests.size());
+        List<ErrorCode> errorCodes = new ArrayList<>(requests.size());
+        boolean changed = !Objects.equals(fencingToken, account.getFencingToken());
+        for (UseBalance.Request request : requests) {
+            Long amount = request.getAmount();
+            try {
+                AccountUser user = accountUserCache.findById(request.getUserId())
+                        .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+                validateUseBalance(user, account, amount);
+                account.useBalance(amount);
+                changed = true;
+                transactions.add(buildTransaction(USE, S, account, amount, account.getBalance()));
+                errorCodes.add(null);
+            } catch (AccountException e) {
+                transactions.add(buildTransaction(USE, F, account, amount, account.getBalance()));
+                errorCodes.add(e.getErrorCode());
+            }
+        }
+        transactionRepository.saveAll(transactions);
+        publishBalance(account, changed ? nextVersion(account) : version);
+
+        for (int i = 0; i < transactions.size(); i++) {
+            TransactionDto transactionDto = TransactionDto.fromEntity(transactions.get(i));
+            items.add(errorCodes.get(i) == null
+                    ? UseBalanceBatch.Item.success(transactionDto)
+                    : UseBalanceBatch.Item.failure(transactionDto, errorCodes.get(i)));
+        }
+        return items;
+    }
+
+    /**
+     * 출금과 입금을 한 트랜잭션에서 처리하고 두 거래(TRANSFER_OUT, TRANSFER_IN)를 함께 저장한다.
+     * 호출자가 두 계좌의 락을 모두 잡는다. (LockService.lockAll)
+     * @return 출금 거래, 입금 거래 순서
+     */
+    @Transactional
+    @Override
+    public List<TransactionDto> transferBalance(Long userId, String fromAccountNumber,
+                                                String toAccountNumber, Long amount) {
+        if (Objects.equals(fromAccountNumber, toAccountNumber)) {
+            throw new AccountException(ErrorCode.TRANSFER_TO_SAME_ACCOUNT);
+        }
+        AccountUser user = accountUserCache.findById(userId)
+                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        Account from = accountRepository.findByAccountNumber(fromAccountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        Account to = accountRepository.findByAccountNumber(toAccountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        validateUseBalance(user, from, amount);
+        if (to.getAccountStatus() != AccountStatus.IN_USE) {
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+
+        fence(from);
+        fence(to);
+        from.useBalance(amount);
+        // 입금은 취소와 같은 잔액 증가
+        to.cancelBalance(amount);
+
+        LocalDateTime transactedAt = LocalDateTime.now();
+        Transaction withdraw = buildTransaction(TRANSFER_OUT, S, from, amount,
+                from.getBalance(), transactedAt);
+        Transaction deposit = buildTransaction(TRANSFER_IN, S, to, amount,
+                to.getBalance(), transactedAt);
+        transactionRepository.saveAll(Arrays.asList(withdraw, deposit));
+        publishBalance(from, nextVersion(from));
+        publishBalance(to, nextVersion(to));
+
+        return Arrays.asList(TransactionDto.fromEntity(withdraw), TransactionDto.fromEntity(deposit));
+    }
+
+    private void validateUseAmount(Long amount) {
         if(amount < 100){
             throw  new AccountException(ErrorCode.AMOUNT_IS_TOO_SMALL);
         }
         if(amount > 100000000){ // 1억
             throw  new AccountException(ErrorCode.AMOUNT_IS_TOO_BIG);
         }
+    }
+
+    /**
+     * 조건부 UPDATE 한 번으로 검증과 차감을 처리한다.
+     * 0 row 인 경우에만 엔티티를 읽어 실패 원인을 찾고, 원인이 없으면(동시 변경) 다시 시도한다.
+     */
+    private TransactionDto useBalanceAtomically(Long userId, String accountNumber, Long amount) {
+        validateUseAmount(amount);
+
+        int maxRetries = concurrencyProperties.getOptimisticMaxRetries();
+        for (int retries = 0; ; retries++) {
+            if (accountRepository.useBalanceIfEligible(accountNumber, userId, amount) == 1) {
+                accountSnapshotCache.evict(accountNumber);
+                return saveAtomicTransaction(USE, userId, accountNumber, amount);
+            }
 
+            AccountUser user = accountUserCache.findById(userId)
+                    .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+            Account account = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+            validateUseBalance(user, account, amount);
+
+            if (retries >= maxRetries) {
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+        }
+    }
+
+    private TransactionDto cancelBalanceAtomically(
+            Transaction transaction, String accountNumber, Long amount) {
+        validateCancelBalance(amount, transaction, accountNumber);
+
+        if (accountRepository.cancelBalanceByAccountNumber(accountNumber, amount) == 0) {
+            throw new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+        }
+        accountSnapshotCache.evict(accountNumber);
+        return saveAtomicTransaction(CANCEL, transaction.getOwnerId(), accountNumber, amount);
+    }
+
+    /**
+     * UPDATE 직후의 잔액만 projection 으로 읽어 거래를 저장한다. (계좌 엔티티 로딩 없음)
+     */
+    private TransactionDto saveAtomicTransaction(
+            TransactionType transactionType, Long userId, String accountNumber, Long amount) {
+        AccountBalanceView balance = accountRepository.findBalanceByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        balanceProjection.update(userId, accountNumber, balance.getBalance(), balance.getVersion());
+
+        return TransactionDto.fromEntity(
+                transactionRepository.save(buildTransaction(transactionType, S,
+                        accountRepository.getReferenceById(balance.getId()), accountNumber, userId,
+                        amount, balance.getBalance(), LocalDateTime.now())),
+                accountNumber
+        );
     }
 
-    @Transactional
     @Override
     public void saveFailedUseTransaction(String accountNumber, Long amount) {
+        saveFailedTransaction(USE, accountNumber, amount, LocalDateTime.now());
+    }
+
+    /**
+     * relaxed 모드에서는 캐시된 스냅샷의 잔액으로 실패 거래를 남긴다. (계좌 조회 없음)
+     * 실패 거래는 잔액 변경과 묶이지 않으므로 그룹 커밋이 켜져 있으면 그쪽으로 기록한다.
+     * 비동기로 늦게 기록되는 경우를 위해 거래 일시는 실패 시점을 받는다.
+     * 트랜잭션 없이 실행한다. 커넥션을 쥔 채 flusher 를 기다리면, flusher 가 새 커넥션을 얻지 못해
+     * 커넥션 풀이 고갈될 수 있다. (조회와 저장은 각각 리포지토리의 짧은 트랜잭션으로 처리)
+     */
+    @Override
+    public void saveFailedTransaction(TransactionType transactionType, String accountNumber,
+                                      Long amount, LocalDateTime transactedAt) {
+        saveLedgerRow(buildFailedTransaction(transactionType, accountNumber, amount, transactedAt));
+    }
+
+    /**
+     * 커밋을 기다리지 않고 기록한다. (비동기 실패 거래 기록기용)
+     * 그룹 커밋이 켜져 있으면 여러 건이 한 번에 커밋되도록 큐에만 넣고 future 를 돌려준다.
+     */
+    @Override
+    public CompletableFuture<Transaction> submitFailedTransaction(TransactionType transactionType,
+                                                                  String accountNumber, Long amount,
+                                                                  LocalDateTime transactedAt) {
+        Transaction transaction = buildFailedTransaction(transactionType, accountNumber,
+                amount, transactedAt);
+        if (ledgerGroupCommitter.isEnabled()) {
+            return ledgerGroupCommitter.submit(transaction);
+        }
+        return CompletableFuture.completedFuture(transactionRepository.save(transaction));
+    }
+
+    private Transaction buildFailedTransaction(TransactionType transactionType, String accountNumber,
+                                               Long amount, LocalDateTime transactedAt) {
+        if (accountSnapshotCache.isRelaxed()) {
+            Optional<AccountSnapshot> snapshot = accountSnapshotCache.get(accountNumber);
+            if (snapshot.isPresent()) {
+                return buildTransaction(transactionType, F,
+                        accountRepository.getReferenceById(snapshot.get().getId()),
+                        snapshot.get().getAccountNumber(), snapshot.get().getOwnerId(),
+                        amount, snapshot.get().getBalance(), transactedAt);
+            }
+        }
+
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        accountSnapshotCache.load(account);
 
-        saveAndGetTransaction(USE, F, account, amount);
+        return buildTransaction(transactionType, F, account, amount,
+                account.getBalance(), transactedAt);
+    }
+
+    private void saveLedgerRow(Transaction transaction) {
+        if (ledgerGroupCommitter.isEnabled()) {
+            ledgerGroupCommitter.write(transaction);
+        } else {
+            transactionRepository.save(transaction);
+        }
     }
 
 
@@ -89,17 +346,84 @@ public class TransactionServiceImpl implements TransactionService{
             TransactionResultType transactionResultType,
             Account account,
             Long amount) {
-        return transactionRepository.save(
-                Transaction.builder()
-                        .transactionType(transactionType)
-                        .transactionResultType(transactionResultType)
-                        .account(account)
-                        .amount(amount)
-                        .balanceSnapshot(account.getBalance())
-                        .transactionId(UUID.randomUUID().toString().replace("-", ""))
-                        .transactedAt(LocalDateTime.now())
-                        .build()
-        );
+        return saveTransaction(transactionType, transactionResultType,
+                account, amount, account.getBalance());
+    }
+
+    /**
+     * 락 보유자의 fencing token 을 계좌에 기록한다.
+     * 토큰이 기록된 값보다 작으면 lease 만료 또는 카운터 유실이다.
+     * 카운터 유실이면 새 토큰을 받아 기록하고, 아니면 Account.fence 가 거절한다.
+     */
+    private void fence(Account account) {
+        String accountNumber = account.getAccountNumber();
+        Long token = FencingTokens.get(accountNumber);
+        if (token != null && account.getFencingToken() != null && token < account.getFencingToken()) {
+            Long reissued = lockService.reissueFencingToken(accountNumber, account.getFencingToken());
+            if (reissued != null) {
+                token = reissued;
+            }
+        }
+        account.fence(token);
+    }
+
+    private Transaction saveTransaction(
+            TransactionType transactionType,
+            TransactionResultType transactionResultType,
+            Account account,
+            Long amount,
+            Long balanceSnapshot) {
+        return transactionRepository.save(buildTransaction(
+                transactionType, transactionResultType, account, amount, balanceSnapshot));
+    }
+
+    private Transaction buildTransaction(
+            TransactionType transactionType,
+            TransactionResultType transactionResultType,
+            Account account,
+            Long amount,
+            Long balanceSnapshot) {
+        return buildTransaction(transactionType, transactionResultType,
+                account, amount, balanceSnapshot, LocalDateTime.now());
+    }
+
+    private Transaction buildTransaction(
+            TransactionType transactionType,
+            TransactionResultType transactionResultType,
+            Account account,
+            Long amount,
+            Long balanceSnapshot,
+            LocalDateTime transactedAt) {
+        // 소유자 프록시의 getId 는 조회하지 않는다.
+        return buildTransaction(transactionType, transactionResultType, account,
+                account.getAccountNumber(),
+                account.getAccountUser() == null ? null : account.getAccountUser().getId(),
+                amount, balanceSnapshot, transactedAt);
+    }
+
+    /**
+     * 계좌 참조(getReferenceById)만 가진 경우 계좌번호와 소유자를 따로 받는다. (프록시 초기화 방지)
+     */
+    private Transaction buildTransaction(
+            TransactionType transactionType,
+            TransactionResultType transactionResultType,
+            Account account,
+            String accountNumber,
+            Long ownerId,
+            Long amount,
+            Long balanceSnapshot,
+            LocalDateTime transactedAt) {
+        return Transaction.builder()
+                .transactionType(transactionType)
+                .transactionResultType(transactionResultType)
+                .account(account)
+                .accountNumber(accountNumber)
+                .ownerId(ownerId)
+                .amount(amount)
+                .balanceSnapshot(balanceSnapshot)
+                .transactionId(transactionIdGenerator.nextTransactionId())
+                .transactedAt(transactedAt)
+                .build();
     }
 
     @Transactional
@@ -109,13 +433,30 @@ public class TransactionServiceImpl implements TransactionService{
             String accountNumber,
             Long amount
     ) {
-        Transaction transaction = transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+        Transaction transaction = findTransaction(transactionId);
+
+        if (concurrencyProperties.getMode() == ConcurrencyMode.ATOMIC) {
+            return cancelBalanceAtomically(transaction, accountNumber, amount);
+        }
+        if (concurrencyProperties.getMode() == ConcurrencyMode.OPTIMISTIC) {
+            Account account = updateOptimistically(accountNumber,
+                    target -> validateCancelBalance(amount, transaction, target),
+                    target -> accountRepository.cancelBalanceIfVersionMatches(
+                            target.getId(), target.getVersion(), amount));
+            account.cancelBalance(amount);
+            publishBalance(account, account.getVersion());
+            return TransactionDto.fromEntity(
+                    saveAndGetTransaction(CANCEL, S, account, amount)
+            );
+        }
+
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
         validateCancelBalance(amount, transaction, account);
+        fence(account);
         account.cancelBalance(amount);
+        publishBalance(account, nextVersion(account));
 
         return TransactionDto.fromEntity(
                 saveAndGetTransaction(CANCEL, S, account, amount)
@@ -124,7 +465,14 @@ public class TransactionServiceImpl implements TransactionService{
     }
     @Override
     public void validateCancelBalance(Long amount, Transaction transaction, Account account) {
-        if (!Objects.equals(transaction.getAccount().getId(), account.getId())) {
+        validateCancelBalance(amount, transaction, account.getAccountNumber());
+    }
+
+    /**
+     * 거래 row 의 계좌번호로 비교하므로 거래의 계좌를 읽지 않는다.
+     */
+    private void validateCancelBalance(Long amount, Transaction transaction, String accountNumber) {
+        if (!Objects.equals(transaction.getAccountNumber(), accountNumber)) {
             throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UNMATCHED);
         }
         if (!Objects.equals(transaction.getAmount(), amount)) {
@@ -133,24 +481,152 @@ public class TransactionServiceImpl implements TransactionService{
         if (transaction.getTransactedAt().isBefore(LocalDateTime.now().minusYears(1))) {
             throw new AccountException(ErrorCode.TOO_OLD_ORDER_TO_CANCEL);
         }
-        if (!Objects.equals(transaction.getAccount().getId(), account.getId())) {
-            throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UNMATCHED);
+        if (transaction.getTransactionType() != USE) {
+            // 이체는 반대 방향 이체로 되돌린다.
+            throw new AccountException(ErrorCode.TRANSACTION_NOT_CANCELABLE);
         }
     }
 
-    @Override
-    public void saveFailedCancelTransaction(String accountNumber, Long amount) {
+    /**
+     * 계좌를 읽고 검증한 뒤 version 조건부 UPDATE 를 시도한다.
+     * 첫 시도는 캐시된 스냅샷을 사용하고, 스냅샷이 오래되었거나 다른 요청이 먼저 변경했다면(0 row)
+     * DB 에서 다시 읽어서 최대 optimisticMaxRetries 번 재시도한다.
+     * 반환되는 계좌는 영속성 컨텍스트에서 분리된 UPDATE 직전 상태이다.
+     */
+    private Account updateOptimistically(String accountNumber,
+                                         Consumer<Account> validation,
+                                         ToIntFunction<Account> conditionalUpdate) {
+        int maxRetries = concurrencyProperties.getOptimisticMaxRetries();
+        for (int retries = 0; ; retries++) {
+            Account account = findValidatedAccount(accountNumber,
+                    retries == 0 ? accountSnapshotCache.get(accountNumber) : Optional.empty(),
+                    validation);
+
+            if (conditionalUpdate.applyAsInt(account) == 1) {
+                meterRegistry.summary(OPTIMISTIC_RETRY_METRIC).record(retries);
+                account.setVersion(account.getVersion() + 1);
+                return account;
+            }
+            if (retries >= maxRetries) {
+                meterRegistry.summary(OPTIMISTIC_RETRY_METRIC).record(retries);
+                meterRegistry.counter(OPTIMISTIC_EXHAUSTED_METRIC).increment();
+                log.warn("Optimistic update retries exhausted for accountNumber : {}", accountNumber);
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+        }
+    }
+
+    private Account findValidatedAccount(String accountNumber,
+                                         Optional<AccountSnapshot> snapshot,
+                                         Consumer<Account> validation) {
+        if (snapshot.isPresent()) {
+            Account account = snapshot.get().toAccount();
+            try {
+                validation.accept(account);
+                return account;
+            } catch (AccountException e) {
+                // 오래된 스냅샷 때문일 수 있으므로 DB 값으로 다시 검증
+                log.debug("Snapshot validation failed for accountNumber : {}", accountNumber);
+            }
+        }
+        Account account = findAccountAndCache(accountNumber);
+        validation.accept(account);
+        return account;
+    }
+
+    private Account findAccountAndCache(String accountNumber) {
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        accountSnapshotCache.load(account);
+        return account;
+    }
+
+    /**
+     * 변경된 잔액을 커밋 이후 스냅샷 캐시와 잔액 projection 에 반영한다.
+     */
+    private void publishBalance(Account account, Long version) {
+        accountSnapshotCache.writeThrough(account, version);
+        balanceProjection.update(account, version);
+    }
 
-        saveAndGetTransaction(CANCEL, F, account, amount);
+    private static Long nextVersion(Account account) {
+        // 엔티티 경로에서는 flush 시 @Version 이 1 증가한다.
+        return account.getVersion() == null ? null : account.getVersion() + 1;
+    }
+
+    @Override
+    public void saveFailedCancelTransaction(String accountNumber, Long amount) {
+        saveFailedTransaction(CANCEL, accountNumber, amount, LocalDateTime.now());
     }
 
     @Override
     public TransactionDto queryTransaction(String transactionId) {
-        return TransactionDto.fromEntity(
-                transactionRepository.findByTransactionId(transactionId)
-                        .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND))
-        );
+        return TransactionDto.fromEntity(findTransaction(transactionId));
+    }
+
+    /**
+     * 거래를 읽는다. account_number/owner_id 가 채워지기 전(백필 전)에 저장된 거래는
+     * 계좌를 한 번 더 읽어 채운다. (트랜잭션 안이면 dirty checking 으로 row 도 함께 채워진다)
+     */
+    private Transaction findTransaction(String transactionId) {
+        Transaction transaction = transactionRepository.findByTransactionId(transactionId)
+                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+        // 두 값은 항상 함께 채워진다.
+        if (transaction.getAccountNumber() != null || transaction.getAccount() == null) {
+            return transaction;
+        }
+        // 프록시의 getId 는 조회하지 않는다.
+        Account account = accountRepository.findById(transaction.getAccount().getId())
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        transaction.setAccountNumber(account.getAccountNumber());
+        if (account.getAccountUser() != null) {
+            transaction.setOwnerId(account.getAccountUser().getId());
+        }
+        return transaction;
+    }
+
+    /**
+     * 계좌 거래 내역 (최신순, keyset 페이지)
+     * 커서가 있으면 그 거래 다음부터, 없으면 to(포함) 이전부터 읽는다.
+     * size + 1 건을 읽어 다음 페이지가 있을 때만 nextCursor 를 준다.
+     */
+    @Override
+    public TransactionHistory.Page queryTransactionHistory(String accountNumber,
+                                                           TransactionHistory.Condition condition) {
+        int size = condition.getSize();
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+        AccountBalanceView account = accountRepository.findBalanceByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        TransactionHistory.Cursor before = condition.getCursor() != null
+                ? TransactionHistory.Cursor.decode(condition.getCursor())
+                : new TransactionHistory.Cursor(
+                        condition.getTo() != null ? condition.getTo() : HISTORY_MAX_TIME, Long.MAX_VALUE);
+        List<TransactionHistoryRow> rows = transactionRepository.findHistoryBefore(
+                account.getId(),
+                condition.getFrom() != null ? condition.getFrom() : HISTORY_MIN_TIME,
+                before.getTransactedAt(),
+                before.getId(),
+                orAll(condition.getTransactionTypes(), TransactionType.values()),
+                orAll(condition.getTransactionResults(), TransactionResultType.values()),
+                PageRequest.of(0, size + 1));
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            TransactionHistoryRow last = rows.get(size - 1);
+            nextCursor = new TransactionHistory.Cursor(last.getTransactedAt(), last.getId()).encode();
+        }
+        List<TransactionDto> transactions = new ArrayList<>(rows.size());
+        for (TransactionHistoryRow row : rows) {
+            transactions.add(TransactionDto.fromRow(row, accountNumber));
+        }
+        return new TransactionHistory.Page(transactions, nextCursor);
+    }
+
+    private static <T> Collection<T> orAll(List<T> selected, T[] all) {
+        return selected == null || selected.isEmpty() ? Arrays.asList(all) : selected;
     }
 }
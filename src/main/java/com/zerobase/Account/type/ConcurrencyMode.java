@@ -0,0 +1,15 @@
+package com.zerobase.Account.type;
+
+public enum ConcurrencyMode {
+    REDIS_LOCK,
+    SEQUENCER,
+    OPTIMISTIC,
+    ATOMIC;
+
+    /**
+     * DB 조건부 UPDATE 로 정합성을 보장하여 계좌 락이 필요 없는 모드인지
+     */
+    public boolean isLockFree() {
+        return this == OPTIMISTIC || this == ATOMIC;
+    }
+}
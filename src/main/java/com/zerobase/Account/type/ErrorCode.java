@@ -12,16 +12,21 @@ public enum ErrorCode {
     ACCOUNT_NOT_FOUND("계좌가 없습니다."),
     ACCOUNTNUMBER_ALREADY_USED("이미 사용중인 계좌번호입니다."),
     ACCOUNT_TRANSACTION_LOCK("해당계좌는 사용중입니다."),
+    ACCOUNT_OVERLOADED("해당계좌에 요청이 몰려 있습니다. 잠시 후 다시 시도해주세요."),
     TRANSACTION_NOT_FOUND("계좌가 없습니다."),
     AMOUNT_EXCEED_BALANCE("잔액이 부족합니다."),
     TRANSACTION_ACCOUNT_UNMATCHED("거래와 계좌가 동일하지 않습니다."),
     CANCEL_MUST_FULLY("부분취소는 허용되지 않습니다."),
+    TRANSACTION_NOT_CANCELABLE("취소할 수 없는 거래입니다."),
     TOO_OLD_ORDER_TO_CANCEL("1년이 지난 거래의 취소는 불가능합니다."),
     USER_ACCOUNT_UNMATCHED("사용자와 계좌가 동일하지 않습니다."),
+    TRANSFER_TO_SAME_ACCOUNT("같은 계좌로 이체할 수 없습니다."),
     ACCOUNT_ALREADY_UNREGISTERED("계좌가 이미 해지되었습니다."),
     BALANCE_NOT_EMPTY("계좌가 남아있습니다."),
     MAX_COUNT_FOR_USER_10("사용자 최대 계좌는 10개 입니다."),
     AMOUNT_IS_TOO_SMALL("거래 금액이 너무 작습니다"),
-    AMOUNT_IS_TOO_BIG("거래 금액이 너무 큽니다");
+    AMOUNT_IS_TOO_BIG("거래 금액이 너무 큽니다"),
+    IDEMPOTENT_REQUEST_IN_PROGRESS("같은 Idempotency-Key 의 요청이 처리 중입니다."),
+    IDEMPOTENCY_KEY_REUSED("다른 요청에 사용된 Idempotency-Key 입니다.");
     private final String description;
 }
@@ -0,0 +1,7 @@
+package com.zerobase.Account.type;
+
+public enum LockProviderType {
+    REDISSON,
+    IN_JVM,
+    JDBC
+}
@@ -1,5 +1,5 @@
 package com.zerobase.Account.type;
 
 public enum TransactionType {
-    USE,CANCEL
+    USE,CANCEL,TRANSFER_OUT,TRANSFER_IN
 }
@@ -6,3 +6,6 @@ values(2, 'jisu22', now(), now());
 
 insert into account_user(id, name, created_at, updated_at)
 values(3, 'jisu33', now(), now());
+
+insert into account_number_sequence(name, next_value)
+values('account_number', 100000000);
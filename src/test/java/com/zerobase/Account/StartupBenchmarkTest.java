@@ -0,0 +1,132 @@
+package com.zerobase.Account;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ./gradlew benchmark --tests '*StartupBenchmarkTest' -Dbenchmark.profiles=default,fast-start
+ * 프로필마다 새 JVM 으로 애플리케이션을 띄우고,
+ * 프로세스 시작부터 첫 /transaction/use 성공 응답까지 걸린 시간을 출력한다.
+ * (-Dbenchmark.jvm-args 로 -XX:SharedArchiveFile 등 JVM 옵션을 추가할 수 있다.)
+ */
+@Tag("benchmark")
+class StartupBenchmarkTest {
+    private static final Pattern ACCOUNT_NUMBER = Pattern.compile("\"accountNumber\":\"(\\d{10})\"");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @Test
+    void timeToFirstUse() throws Exception {
+        String[] profiles = System.getProperty("benchmark.profiles", "default,fast-start").split(",");
+        int runs = Integer.getInteger("benchmark.runs", 3);
+
+        for (String profile : profiles) {
+            long total = 0L;
+            long best = Long.MAX_VALUE;
+            for (int run = 0; run < runs; run++) {
+                long millis = startAndUse(profile);
+                total += millis;
+                best = Math.min(best, millis);
+            }
+            System.out.printf("profile=%s runs=%d timeToFirstUse avg=%dms best=%dms%n",
+                    profile, runs, total / runs, best);
+        }
+    }
+
+    private long startAndUse(String profile) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        String jvmArgs = System.getProperty("benchmark.jvm-args", "");
+        if (!jvmArgs.isEmpty()) {
+            command.addAll(Arrays.asList(jvmArgs.split(" ")));
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(AccountApplication.class.getName());
+        command.add("--server.port=" + port);
+        command.add("--spring.redis.port=" + freePort());
+        command.add("--spring.profiles.active=" + profile);
+        // 외부 redis 가 없으므로 모든 프로필에서 내장 redis 를 띄운다.
+        command.add("--account.redis.embedded=true");
+
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            String baseUrl = "http://localhost:" + port;
+            String accountNumber = null;
+            long deadline = startedAt + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                assertTrue(process.isAlive(), "application exited during startup");
+                if (accountNumber == null) {
+                    accountNumber = createAccount(baseUrl);
+                }
+                if (accountNumber != null && use(baseUrl, accountNumber)) {
+                    return Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+                }
+                Thread.sleep(10L);
+            }
+            throw new IllegalStateException("no successful /transaction/use within " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private String createAccount(String baseUrl) throws InterruptedException {
+        HttpResponse<String> response = post(baseUrl + "/account",
+                "{\"userId\":1,\"initialBalance\":10000}");
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        Matcher matcher = ACCOUNT_NUMBER.matcher(response.body());
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private boolean use(String baseUrl, String accountNumber) throws InterruptedException {
+        HttpResponse<String> response = post(baseUrl + "/transaction/use",
+                "{\"userId\":1,\"accountNumber\":\"" + accountNumber + "\",\"amount\":100}");
+        return response != null && response.statusCode() == 200;
+    }
+
+    private HttpResponse<String> post(String url, String body) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            // 아직 포트가 열리지 않음
+            return null;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.zerobase.Account.cache;
+
+import com.zerobase.Account.config.CacheProperties;
+import com.zerobase.Account.domain.AccountUser;
+import com.zerobase.Account.repository.AccountUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountUserCacheTest {
+    @Mock
+    private AccountUserRepository accountUserRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AccountUserCache accountUserCache;
+
+    @BeforeEach
+    void setUp() {
+        accountUserCache = new AccountUserCache(accountUserRepository,
+                new CacheProperties(), meterRegistry);
+    }
+
+    @Test
+    void loadsOnceThenHits() {
+        //given
+        AccountUser poby = AccountUser.builder().name("poby").build();
+        poby.setId(12L);
+        given(accountUserRepository.findById(12L))
+                .willReturn(Optional.of(poby));
+
+        //when
+        accountUserCache.findById(12L);
+        Optional<AccountUser> cached = accountUserCache.findById(12L);
+
+        //then
+        verify(accountUserRepository, times(1)).findById(12L);
+        assertEquals("poby", cached.get().getName());
+        assertEquals(12L, cached.get().getId());
+        assertEquals(1.0, hits("hit"));
+        assertEquals(1.0, hits("miss"));
+    }
+
+    @Test
+    void missingUserIsNotCached() {
+        //given
+        given(accountUserRepository.findById(1L))
+                .willReturn(Optional.empty());
+
+        //when
+        accountUserCache.findById(1L);
+        accountUserCache.findById(1L);
+
+        //then
+        verify(accountUserRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void evictForcesReload() {
+        //given
+        AccountUser poby = AccountUser.builder().name("poby").build();
+        poby.setId(12L);
+        given(accountUserRepository.findById(12L))
+                .willReturn(Optional.of(poby));
+        accountUserCache.findById(12L);
+
+        //when
+        accountUserCache.evict(12L);
+        accountUserCache.findById(12L);
+
+        //then
+        verify(accountUserRepository, times(2)).findById(12L);
+    }
+
+    private double hits(String result) {
+        return meterRegistry.counter("cache.gets",
+                "cache", AccountUserCache.CACHE_NAME, "result", result).count();
+    }
+}
@@ -0,0 +1,113 @@
+package com.zerobase.Account.cache;
+
+import com.zerobase.Account.config.IdempotencyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+    @Mock
+    private ObjectProvider<RedissonClient> redissonClient;
+    @Mock
+    private RedissonClient client;
+    @Mock
+    private RMapCache<String, String> map;
+
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(new IdempotencyProperties(),
+                redissonClient, new SimpleMeterRegistry());
+        given(redissonClient.getIfAvailable()).willReturn(client);
+        given(client.<String, String>getMapCache(eq("idempotency"), any(Codec.class))).willReturn(map);
+    }
+
+    @Test
+    void claimThenComplete() {
+        //given
+        given(map.putIfAbsent(eq("useBalance:key-1"), eq("P|abc"), eq(30_000L), eq(TimeUnit.MILLISECONDS)))
+                .willReturn(null);
+
+        //when
+        Optional<IdempotencyStore.Record> claimed = idempotencyStore.begin("useBalance:key-1", "abc");
+        idempotencyStore.complete("useBalance:key-1", "abc", "{\"amount\":1000}");
+        Optional<IdempotencyStore.Record> replayed = idempotencyStore.begin("useBalance:key-1", "abc");
+
+        //then
+        assertFalse(claimed.isPresent());
+        verify(map, times(1)).fastPut("useBalance:key-1", "D|abc|{\"amount\":1000}",
+                86_400_000L, TimeUnit.MILLISECONDS);
+        assertTrue(replayed.get().isCompleted());
+        assertEquals("{\"amount\":1000}", replayed.get().getResponse());
+        // 두 번째는 near cache 에서 응답
+        verify(map, times(1)).putIfAbsent(anyString(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    void completedOnOtherNode() {
+        //given
+        given(map.putIfAbsent(anyString(), anyString(), anyLong(), any()))
+                .willReturn("D|abc|{\"amount\":1000}");
+
+        //when
+        Optional<IdempotencyStore.Record> first = idempotencyStore.begin("useBalance:key-1", "abc");
+        Optional<IdempotencyStore.Record> second = idempotencyStore.begin("useBalance:key-1", "abc");
+
+        //then
+        assertTrue(first.get().isCompleted());
+        assertTrue(first.get().matches("abc"));
+        assertEquals("{\"amount\":1000}", second.get().getResponse());
+        verify(map, times(1)).putIfAbsent(anyString(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    void inProgressOnOtherNode() {
+        //given
+        given(map.putIfAbsent(anyString(), anyString(), anyLong(), any()))
+                .willReturn("P|abc");
+
+        //when
+        Optional<IdempotencyStore.Record> record = idempotencyStore.begin("useBalance:key-1", "abc");
+
+        //then
+        assertFalse(record.get().isCompleted());
+        verify(map, never()).remove(anyString(), anyString());
+    }
+
+    @Test
+    void abortReleasesOwnMarker() {
+        //given
+        given(map.putIfAbsent(anyString(), anyString(), anyLong(), any())).willReturn(null);
+        idempotencyStore.begin("useBalance:key-1", "abc");
+
+        //when
+        idempotencyStore.abort("useBalance:key-1", "abc");
+        Optional<IdempotencyStore.Record> retried = idempotencyStore.begin("useBalance:key-1", "abc");
+
+        //then
+        verify(map, times(1)).remove("useBalance:key-1", "P|abc");
+        assertFalse(retried.isPresent());
+    }
+}
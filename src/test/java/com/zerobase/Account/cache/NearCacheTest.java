@@ -0,0 +1,44 @@
+package com.zerobase.Account.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearCacheTest {
+    private final AtomicLong ticker = new AtomicLong();
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        //given
+        NearCache<Long, String> nearCache = new NearCache<>(2, Duration.ofMinutes(1), ticker::get);
+        nearCache.put(1L, "one");
+        nearCache.put(2L, "two");
+        nearCache.get(1L);
+
+        //when
+        nearCache.put(3L, "three");
+
+        //then
+        assertEquals(2, nearCache.size());
+        assertTrue(nearCache.get(1L).isPresent());
+        assertFalse(nearCache.get(2L).isPresent());
+        assertTrue(nearCache.get(3L).isPresent());
+    }
+
+    @Test
+    void expiresAfterTtl() {
+        //given
+        NearCache<Long, String> nearCache = new NearCache<>(10, Duration.ofSeconds(1), ticker::get);
+        nearCache.put(1L, "one");
+
+        //when
+        ticker.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        //then
+        assertFalse(nearCache.get(1L).isPresent());
+        assertEquals(0, nearCache.size());
+    }
+}
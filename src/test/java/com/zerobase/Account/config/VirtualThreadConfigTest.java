@@ -0,0 +1,80 @@
+package com.zerobase.Account.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.zerobase.Account.dto.CreateAccount;
+import com.zerobase.Account.dto.UseBalance;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ./gradlew virtualThreadTest (JDK 21 toolchain 필요)
+ * 가상 스레드 모드로 띄운 애플리케이션이 실제로 가상 스레드에서 요청을 처리하는지 확인한다.
+ * 빌드 대상은 JDK 11 이므로 기본 test 태스크에서는 제외한다.
+ */
+@Tag("virtual-threads")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:virtual-threads",
+        "account.execution.virtual-threads=true",
+        "account.lock.provider=in-jvm",
+        "account.cache.balance-projection.enabled=false"
+})
+class VirtualThreadConfigTest {
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private ServletWebServerApplicationContext applicationContext;
+
+    @Test
+    void tomcatRunsRequestsOnVirtualThreads() throws Exception {
+        //given
+        Executor executor = ((TomcatWebServer) applicationContext.getWebServer())
+                .getTomcat().getConnector().getProtocolHandler().getExecutor();
+
+        //when
+        CompletableFuture<Boolean> isVirtual = new CompletableFuture<>();
+        executor.execute(() -> isVirtual.complete(isVirtual(Thread.currentThread())));
+
+        //then
+        assertTrue(isVirtual.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void useBalanceOnVirtualThreads() {
+        //given
+        ResponseEntity<JsonNode> created = restTemplate.postForEntity("/account",
+                new CreateAccount.Request(USER_ID, 10_000L), JsonNode.class);
+        String accountNumber = created.getBody().get("accountNumber").asText();
+
+        //when
+        ResponseEntity<JsonNode> used = restTemplate.postForEntity("/transaction/use",
+                new UseBalance.Request(USER_ID, accountNumber, 1000L), JsonNode.class);
+
+        //then
+        assertEquals(HttpStatus.OK, used.getStatusCode());
+        assertEquals("S", used.getBody().get("transactionResult").asText());
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.zerobase.Account.controller;
+
+import com.zerobase.Account.service.LedgerExportService;
+import com.zerobase.Account.type.ExportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(LedgerExportController.class)
+class LedgerExportControllerTest {
+    @MockBean
+    private LedgerExportService ledgerExportService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void successExportLedger() throws Exception {
+        //given
+        given(ledgerExportService.getAccountId(anyString()))
+                .willReturn(1L);
+        given(ledgerExportService.exportLedger(eq(1L), eq("1000000000"), eq(ExportFormat.CSV), any()))
+                .willAnswer(invocation -> {
+                    OutputStream outputStream = invocation.getArgument(3);
+                    outputStream.write("header\n".getBytes(StandardCharsets.UTF_8));
+                    return 0L;
+                });
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/account/1000000000/transactions/export")
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"1000000000-ledger.csv\""))
+                .andExpect(content().string("header\n"));
+    }
+}
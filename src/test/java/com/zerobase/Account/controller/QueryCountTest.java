@@ -0,0 +1,141 @@
+package com.zerobase.Account.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.Account.dto.CreateAccount;
+import com.zerobase.Account.dto.UseBalance;
+import com.zerobase.Account.repository.AccountRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 엔드포인트마다 실행되는 SQL 수를 Hibernate 통계로 확인한다. (N+1, 불필요한 연관 조회 방지)
+ * 시퀀스 할당과 사용자 캐시 적재가 섞이지 않도록 같은 요청을 한 번 보낸 뒤 센다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-count",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "account.lock.provider=in-jvm",
+        "account.cache.balance-projection.enabled=false"
+})
+@AutoConfigureMockMvc
+class QueryCountTest {
+    private static final long USER_ID = 2L;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Statistics statistics;
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        accountNumber = read(mockMvc.perform(post("/account")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateAccount.Request(USER_ID, 100_000L)))))
+                .get("accountNumber").asText();
+    }
+
+    @Test
+    void useBalance() throws Exception {
+        //given
+        useBalance(accountNumber);
+        //when
+        long statements = countStatements(useRequest(accountNumber));
+        //then
+        // 계좌 조회, 거래 insert, 잔액 update
+        assertEquals(3L, statements);
+    }
+
+    @Test
+    void queryTransaction() throws Exception {
+        //given
+        String transactionId = useBalance(accountNumber);
+        mockMvc.perform(get("/transaction/" + transactionId));
+        //when
+        long statements = countStatements(get("/transaction/" + transactionId));
+        //then
+        // 거래 + 계좌 fetch join
+        assertEquals(1L, statements);
+    }
+
+    @Test
+    void getAccountsByUserId() throws Exception {
+        //given
+        mockMvc.perform(get("/account").param("user_id", String.valueOf(USER_ID)));
+        //when
+        long statements = countStatements(get("/account").param("user_id", String.valueOf(USER_ID)));
+        //then
+        // 사용자는 캐시에서, 계좌 목록 한 번 (사용자 조회 없음)
+        assertEquals(1L, statements);
+    }
+
+    @Test
+    void findAccount() throws Exception {
+        //given
+        Long id = accountRepository.findByAccountNumber(accountNumber).get().getId();
+        //when
+        long statements = countStatements(get("/account/" + id));
+        //then
+        // 계좌 + 소유자 fetch join
+        assertEquals(1L, statements);
+    }
+
+    @Test
+    void queryTransactionHistory() throws Exception {
+        //given
+        useBalance(accountNumber);
+        useBalance(accountNumber);
+        //when
+        long statements = countStatements(get("/account/" + accountNumber + "/transactions"));
+        //then
+        // 계좌 id projection, 거래 내역 projection
+        assertEquals(2L, statements);
+    }
+
+    private long countStatements(RequestBuilder request) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private String useBalance(String accountNumber) throws Exception {
+        return read(mockMvc.perform(useRequest(accountNumber))).get("transactionId").asText();
+    }
+
+    private RequestBuilder useRequest(String accountNumber) throws Exception {
+        return post("/transaction/use")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new UseBalance.Request(USER_ID, accountNumber, 1000L)));
+    }
+
+    private JsonNode read(ResultActions resultActions) throws Exception {
+        return objectMapper.readTree(resultActions.andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
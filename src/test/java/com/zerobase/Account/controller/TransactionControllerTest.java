@@ -3,9 +3,16 @@ package com.zerobase.Account.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zerobase.Account.dto.CancelBalance;
 import com.zerobase.Account.dto.TransactionDto;
+import com.zerobase.Account.dto.TransactionHistory;
+import com.zerobase.Account.dto.TransferBalance;
 import com.zerobase.Account.dto.UseBalance;
+import com.zerobase.Account.dto.UseBalanceBatch;
+import com.zerobase.Account.service.BalanceBatchService;
+import com.zerobase.Account.service.FailedTransactionRecorder;
+import com.zerobase.Account.service.LatencyInjector;
 import com.zerobase.Account.service.TransactionService;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -13,12 +20,21 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 
+import static com.zerobase.Account.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+import static com.zerobase.Account.type.TransactionResultType.F;
 import static com.zerobase.Account.type.TransactionResultType.S;
+import static com.zerobase.Account.type.TransactionType.CANCEL;
 import static com.zerobase.Account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -31,6 +47,15 @@ class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private LatencyInjector latencyInjector;
+
+    @MockBean
+    private BalanceBatchService balanceBatchService;
+
+    @MockBean
+    private FailedTransactionRecorder failedTransactionRecorder;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -64,6 +89,44 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.amount").value(12345L));
     }
 
+    @Test
+    void successUseBalanceBatch() throws Exception {
+        //given
+        given(balanceBatchService.useBalances(anyList()))
+                .willReturn(UseBalanceBatch.Response.from(Arrays.asList(
+                        UseBalanceBatch.Item.builder()
+                                .index(0)
+                                .accountNumber("1000000000")
+                                .transactionResult(S)
+                                .transactionId("transactionId")
+                                .amount(1000L)
+                                .build(),
+                        UseBalanceBatch.Item.builder()
+                                .index(1)
+                                .accountNumber("1000000000")
+                                .transactionResult(F)
+                                .transactionId("transactionId2")
+                                .amount(1000000L)
+                                .errorCode(AMOUNT_EXCEED_BALANCE)
+                                .build())));
+        //when
+
+        //then
+        mockMvc.perform(post("/transaction/use/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UseBalanceBatch.Request(Arrays.asList(
+                                        new UseBalance.Request(1L, "1000000000", 1000L),
+                                        new UseBalance.Request(1L, "1000000000", 1000000L)))
+                        ))
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].transactionResult").value("S"))
+                .andExpect(jsonPath("$.results[1].errorCode").value("AMOUNT_EXCEED_BALANCE"));
+    }
+
     @Test
     void successCancelBalance() throws Exception {
         //given
@@ -91,6 +154,44 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.amount").value(12345L));
     }
 
+    @Test
+    void successTransferBalance() throws Exception {
+        //given
+        LocalDateTime transactedAt = LocalDateTime.now();
+        given(transactionService.transferBalance(anyLong(), anyString(), anyString(), anyLong()))
+                .willReturn(Arrays.asList(
+                        TransactionDto.builder()
+                                .accountNumber("1000000008")
+                                .transactedAt(transactedAt)
+                                .amount(3000L)
+                                .transactionId("withdrawTransactionId")
+                                .transactionResultType(S)
+                                .build(),
+                        TransactionDto.builder()
+                                .accountNumber("1000000016")
+                                .transactedAt(transactedAt)
+                                .amount(3000L)
+                                .transactionId("depositTransactionId")
+                                .transactionResultType(S)
+                                .build()));
+        //when
+
+        //then
+        mockMvc.perform(post("/transaction/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new TransferBalance.Request(1L, "1000000008", "1000000016", 3000L)
+                        ))
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromAccountNumber").value("1000000008"))
+                .andExpect(jsonPath("$.toAccountNumber").value("1000000016"))
+                .andExpect(jsonPath("$.transactionResult").value("S"))
+                .andExpect(jsonPath("$.withdrawTransactionId").value("withdrawTransactionId"))
+                .andExpect(jsonPath("$.depositTransactionId").value("depositTransactionId"))
+                .andExpect(jsonPath("$.amount").value(3000L));
+    }
+
     @Test
     void successGetQueryTransaction() throws Exception {
         //given
@@ -115,4 +216,38 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.amount").value(12345L));
     }
 
-}
\ No newline at end of file
+    @Test
+    void successQueryTransactionHistory() throws Exception {
+        //given
+        given(transactionService.queryTransactionHistory(anyString(), any()))
+                .willReturn(new TransactionHistory.Page(Arrays.asList(
+                        TransactionDto.builder()
+                                .accountNumber("1000000000")
+                                .transactionType(USE)
+                                .transactedAt(LocalDateTime.now())
+                                .amount(12345L)
+                                .transactionId("transactionId")
+                                .transactionResultType(S)
+                                .build()), "nextCursor"));
+        ArgumentCaptor<TransactionHistory.Condition> captor =
+                ArgumentCaptor.forClass(TransactionHistory.Condition.class);
+        //when
+        //then
+        mockMvc.perform(get("/account/1000000000/transactions")
+                        .param("transaction_type", "USE", "CANCEL")
+                        .param("transaction_result", "S")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("size", "10"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].accountNumber").value("1000000000"))
+                .andExpect(jsonPath("$.transactions[0].transactionId").value("transactionId"))
+                .andExpect(jsonPath("$.nextCursor").value("nextCursor"));
+        verify(transactionService).queryTransactionHistory(eq("1000000000"), captor.capture());
+        assertEquals(Arrays.asList(USE, CANCEL), captor.getValue().getTransactionTypes());
+        assertEquals(Arrays.asList(S), captor.getValue().getTransactionResults());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), captor.getValue().getFrom());
+        assertEquals(10, captor.getValue().getSize());
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.zerobase.Account.controller;
+
+import com.zerobase.Account.dto.AccountDto;
+import com.zerobase.Account.service.AccountService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ./gradlew benchmark --tests '*TransactionLoadBenchmarkTest' -Dbenchmark.virtual-threads=true
+ * 동시 클라이언트 수만큼 잔액 사용 요청을 한 번에 보내고
+ * 서버의 최대 동시 처리 요청 수와 p99 지연을 출력한다. (virtual-threads=false 와 비교)
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "account.execution.virtual-threads=${benchmark.virtual-threads:false}",
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=10000",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class TransactionLoadBenchmarkTest {
+    private static final long[] USERS = {1L, 2L, 3L};
+    private static final int ACCOUNTS_PER_USER = 10;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private InFlightFilter inFlightFilter;
+
+    @Test
+    void concurrentClients() {
+        //given
+        int clients = Integer.getInteger("benchmark.clients", 10_000);
+        List<String[]> accounts = new ArrayList<>();
+        for (long userId : USERS) {
+            for (int i = 0; i < ACCOUNTS_PER_USER; i++) {
+                AccountDto account = accountService.createAccount(userId, 1_000_000_000L);
+                accounts.add(new String[]{String.valueOf(userId), account.getAccountNumber()});
+            }
+        }
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+
+        //when
+        List<CompletableFuture<Long>> latencies = new ArrayList<>(clients);
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        for (int i = 0; i < clients; i++) {
+            String[] account = accounts.get(i % accounts.size());
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:" + port + "/transaction/use"))
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofMinutes(2))
+                    .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                            "{\"userId\":%s,\"accountNumber\":\"%s\",\"amount\":100}",
+                            account[0], account[1])))
+                    .build();
+            long start = System.nanoTime();
+            latencies.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> {
+                        statuses.computeIfAbsent(response.statusCode(), code -> new LongAdder())
+                                .increment();
+                        return System.nanoTime() - start;
+                    }));
+        }
+        CompletableFuture.allOf(latencies.toArray(new CompletableFuture[0])).join();
+
+        //then
+        long[] sorted = latencies.stream().mapToLong(CompletableFuture::join).sorted().toArray();
+        long p99Millis = Duration.ofNanos(sorted[(int) (sorted.length * 0.99) - 1]).toMillis();
+        System.out.printf("virtual-threads=%s clients=%d maxInFlight=%d p99=%dms statuses=%s%n",
+                System.getProperty("benchmark.virtual-threads", "false"), clients,
+                inFlightFilter.maxInFlight.get(), p99Millis, statuses);
+        assertEquals(clients, sorted.length);
+    }
+
+    @TestConfiguration
+    static class InFlightConfig {
+        @Bean
+        InFlightFilter inFlightFilter() {
+            return new InFlightFilter();
+        }
+    }
+
+    static class InFlightFilter extends OncePerRequestFilter {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
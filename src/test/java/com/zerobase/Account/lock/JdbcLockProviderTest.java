@@ -0,0 +1,94 @@
+package com.zerobase.Account.lock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcLockProviderTest {
+    private JdbcLockProvider lockProvider;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:account-lock-test;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=100");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop table if exists account_lock");
+        jdbcTemplate.execute("drop table if exists account_fence");
+        jdbcTemplate.execute("create table account_lock (account_number varchar(255) primary key)");
+        jdbcTemplate.execute("create table account_fence ("
+                + "account_number varchar(255) primary key, fencing_token bigint not null)");
+        lockProvider = new JdbcLockProvider(dataSource);
+    }
+
+    @Test
+    void lockCreatesRowAndIssuesIncreasingTokens() {
+        //given
+        List<String> accountNumbers = Collections.singletonList("1000000012");
+
+        //when
+        List<Long> first = lockProvider.tryLockAll(accountNumbers, 1000L);
+        lockProvider.unlockAll(accountNumbers);
+        List<Long> second = lockProvider.tryLockAll(accountNumbers, 1000L);
+        lockProvider.unlockAll(accountNumbers);
+
+        //then
+        assertEquals(Collections.singletonList(1L), first);
+        assertEquals(Collections.singletonList(2L), second);
+    }
+
+    @Test
+    void lockFailsWhileHeldByOtherConnection() throws Exception {
+        //given
+        List<String> accountNumbers = Arrays.asList("1000000008", "1000000016");
+        lockProvider.tryLockAll(accountNumbers, 1000L);
+
+        //when
+        List<Long> tokens = lockProvider.tryLockAll(Collections.singletonList("1000000016"), 100L);
+
+        //then
+        assertNull(tokens);
+        lockProvider.unlockAll(accountNumbers);
+    }
+
+    @Test
+    void tokenIsCommittedWhileLockIsHeld() {
+        //given
+        List<String> accountNumbers = Collections.singletonList("1000000012");
+
+        //when
+        List<Long> tokens = lockProvider.tryLockAll(accountNumbers, 1000L);
+
+        //then
+        // 락 커넥션이 끊겨 롤백되어도 다음 보유자는 더 큰 토큰을 받는다.
+        assertEquals(Collections.singletonList(1L), tokens);
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "select fencing_token from account_fence where account_number = '1000000012'", Long.class));
+        lockProvider.unlockAll(accountNumbers);
+    }
+
+    @Test
+    void reissueAboveStoredTokenOnlyWhileHeld() {
+        //given
+        List<String> accountNumbers = Collections.singletonList("1000000012");
+        lockProvider.tryLockAll(accountNumbers, 1000L);
+
+        //when
+        Long reissued = lockProvider.reissue("1000000012", 100L);
+        lockProvider.unlockAll(accountNumbers);
+        Long notHeld = lockProvider.reissue("1000000012", 200L);
+
+        //then
+        assertEquals(101L, reissued);
+        assertNull(notHeld);
+        assertEquals(Collections.singletonList(102L), lockProvider.tryLockAll(accountNumbers, 1000L));
+        lockProvider.unlockAll(accountNumbers);
+    }
+}
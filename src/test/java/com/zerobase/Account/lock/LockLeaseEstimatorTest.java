@@ -0,0 +1,64 @@
+package com.zerobase.Account.lock;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockLeaseEstimatorTest {
+    @Test
+    void maxLeaseUntilSampled() {
+        //given
+        LockLeaseEstimator leaseEstimator = new LockLeaseEstimator(2000L, 15000L, 3.0);
+
+        //when
+        for (int i = 0; i < 63; i++) {
+            leaseEstimator.record(10L);
+        }
+
+        //then
+        assertEquals(15000L, leaseEstimator.leaseMillis());
+    }
+
+    @Test
+    void leaseFollowsP99() {
+        //given
+        LockLeaseEstimator leaseEstimator = new LockLeaseEstimator(100L, 15000L, 3.0);
+
+        //when
+        for (int i = 0; i < 1024; i++) {
+            leaseEstimator.record(i < 1000 ? 20L : 400L);
+        }
+
+        //then
+        assertEquals(1200L, leaseEstimator.leaseMillis());
+    }
+
+    @Test
+    void leaseClampedToMinimum() {
+        //given
+        LockLeaseEstimator leaseEstimator = new LockLeaseEstimator(2000L, 15000L, 3.0);
+
+        //when
+        for (int i = 0; i < 64; i++) {
+            leaseEstimator.record(5L);
+        }
+
+        //then
+        assertEquals(2000L, leaseEstimator.leaseMillis());
+    }
+
+    @Test
+    void keepsRecordingPastIntegerMaxValue() {
+        //given
+        LockLeaseEstimator leaseEstimator =
+                new LockLeaseEstimator(100L, 15000L, 3.0, Integer.MAX_VALUE - 63L);
+
+        //when
+        for (int i = 0; i < 2048; i++) {
+            leaseEstimator.record(i < 2000 ? 20L : 400L);
+        }
+
+        //then
+        assertEquals(1200L, leaseEstimator.leaseMillis());
+    }
+}
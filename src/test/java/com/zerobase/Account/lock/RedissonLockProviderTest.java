@@ -0,0 +1,192 @@
+package com.zerobase.Account.lock;
+
+import com.zerobase.Account.config.LockProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RFuture;
+import org.redisson.api.RLock;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RedissonLockProviderTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RLock rLock;
+
+    @Mock
+    private RAtomicLong fencingCounter;
+
+    @Mock
+    private LockWatchdog lockWatchdog;
+
+    @Test
+    void tryLockIssuesFencingTokenAndWatchdog() {
+        //given
+        RedissonLockProvider lockProvider = newLockProvider();
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        RFuture<Boolean> locked = completed(true);
+        given(rLock.tryLockAsync(anyLong(), anyLong(), any(), anyLong()))
+                .willReturn(locked);
+        givenFencingToken(7L);
+
+        //when
+        List<Long> tokens = lockProvider.tryLockAll(Collections.singletonList("123"), 1000L);
+
+        //then
+        assertEquals(Collections.singletonList(7L), tokens);
+        verify(rLock).tryLockAsync(eq(1000L), eq(15000L), any(), anyLong());
+        verify(lockWatchdog).watch(eq("ACLK:123"), anyLong(), eq(15000L));
+    }
+
+    @Test
+    void tryLockFail() {
+        //given
+        RedissonLockProvider lockProvider = newLockProvider();
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        RFuture<Boolean> notLocked = completed(false);
+        given(rLock.tryLockAsync(anyLong(), anyLong(), any(), anyLong()))
+                .willReturn(notLocked);
+
+        //when
+        List<Long> tokens = lockProvider.tryLockAll(Collections.singletonList("123"), 1000L);
+
+        //then
+        assertNull(tokens);
+        verify(redissonClient, never()).getAtomicLong(anyString());
+    }
+
+    @Test
+    void tryLockAllWithMultiLock() {
+        //given
+        RedissonLockProvider lockProvider = newLockProvider();
+        RLock multiLock = mock(RLock.class);
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(redissonClient.getMultiLock(any(), any()))
+                .willReturn(multiLock);
+        RFuture<Boolean> locked = completed(true);
+        given(multiLock.tryLockAsync(anyLong(), anyLong(), any(), anyLong()))
+                .willReturn(locked);
+        givenFencingToken(3L);
+
+        //when
+        List<Long> tokens = lockProvider.tryLockAll(Arrays.asList("1000000008", "1000000016"), 5000L);
+
+        //then
+        assertEquals(Arrays.asList(3L, 3L), tokens);
+        InOrder inOrder = inOrder(redissonClient);
+        inOrder.verify(redissonClient).getLock("ACLK:1000000008");
+        inOrder.verify(redissonClient).getLock("ACLK:1000000016");
+    }
+
+    @Test
+    void unlockAsyncOnSameThread() {
+        //given
+        RedissonLockProvider lockProvider = newLockProvider();
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        RFuture<Void> unlocked = completed(null);
+        given(rLock.unlockAsync(anyLong()))
+                .willReturn(unlocked);
+
+        //when
+        lockProvider.unlockAll(Collections.singletonList("123"));
+
+        //then
+        verify(rLock).unlockAsync(Thread.currentThread().getId());
+    }
+
+    @Test
+    void reissueAfterCounterReset() {
+        //given
+        RedissonLockProvider lockProvider = newLockProvider();
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        RFuture<Boolean> locked = completed(true);
+        given(rLock.tryLockAsync(anyLong(), anyLong(), any(), anyLong()))
+                .willReturn(locked);
+        // 카운터가 유실되어 1 부터 다시 발급
+        givenFencingToken(1L);
+        lockProvider.tryLockAll(Collections.singletonList("123"), 1000L);
+        given(rLock.isHeldByThread(Thread.currentThread().getId()))
+                .willReturn(true);
+        RScript script = mock(RScript.class);
+        given(redissonClient.getScript(any(Codec.class)))
+                .willReturn(script);
+        RFuture<Long> reissued = completed(101L);
+        given(script.<Long>evalAsync(eq("ACLK:fence:123"), eq(RScript.Mode.READ_WRITE), anyString(),
+                eq(RScript.ReturnType.INTEGER), eq(Collections.singletonList("ACLK:fence:123")), eq(100L)))
+                .willReturn(reissued);
+
+        //when
+        Long token = lockProvider.reissue("123", 100L);
+
+        //then
+        assertEquals(101L, token);
+    }
+
+    @Test
+    void reissueRejectedAfterLeaseExpired() {
+        //given
+        RedissonLockProvider lockProvider = newLockProvider();
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        RFuture<Boolean> locked = completed(true);
+        given(rLock.tryLockAsync(anyLong(), anyLong(), any(), anyLong()))
+                .willReturn(locked);
+        givenFencingToken(5L);
+        lockProvider.tryLockAll(Collections.singletonList("123"), 1000L);
+        given(rLock.isHeldByThread(anyLong()))
+                .willReturn(false);
+
+        //when
+        Long token = lockProvider.reissue("123", 6L);
+
+        //then
+        assertNull(token);
+        verify(redissonClient, never()).getScript(any(Codec.class));
+    }
+
+    private RedissonLockProvider newLockProvider() {
+        return new RedissonLockProvider(redissonClient, lockWatchdog, new LockProperties());
+    }
+
+    private void givenFencingToken(long token) {
+        given(redissonClient.getAtomicLong(anyString()))
+                .willReturn(fencingCounter);
+        RFuture<Long> issued = completed(token);
+        given(fencingCounter.incrementAndGetAsync())
+                .willReturn(issued);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> RFuture<V> completed(V value) {
+        RFuture<V> future = mock(RFuture.class);
+        given(future.toCompletableFuture())
+                .willReturn(CompletableFuture.completedFuture(value));
+        return future;
+    }
+}
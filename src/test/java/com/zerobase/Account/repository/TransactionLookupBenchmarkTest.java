@@ -0,0 +1,121 @@
+package com.zerobase.Account.repository;
+
+import com.zerobase.Account.domain.TransactionIdConverter;
+import com.zerobase.Account.type.TransactionResultType;
+import com.zerobase.Account.type.TransactionType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ./gradlew benchmark -Dbenchmark.transactions=10000000
+ * 거래 건수가 늘어나도 transactionId / accountNumber 조회와
+ * 계좌 거래 내역 keyset 페이지 조회 지연이 일정한지 확인한다.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionLookupBenchmarkTest {
+    private static final int BATCH_SIZE = 10_000;
+    private static final int LOOKUPS = 1_000;
+    private static final int HISTORY_PAGE_SIZE = 20;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void lookupLatencyStaysFlat() {
+        //given
+        long totalRows = Long.getLong("benchmark.transactions", 10_000_000L);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("insert into account(id, created_at, updated_at, account_user_id, " +
+                        "account_number, account_status, balance, registered_at, version) " +
+                        "values (1, ?, ?, 1, '1000000000', 'IN_USE', 0, ?, 0)",
+                now, now, now);
+
+        //when
+        List<Double> latencies = new ArrayList<>();
+        List<Double> historyLatencies = new ArrayList<>();
+        long seeded = 0;
+        for (long checkpoint = 10_000; checkpoint <= totalRows; checkpoint *= 10) {
+            seeded = seed(jdbcTemplate, seeded, checkpoint, now);
+            double micros = measureLookupMicros(seeded);
+            latencies.add(micros);
+            double historyMicros = measureHistoryMicros(seeded, now.toLocalDateTime());
+            historyLatencies.add(historyMicros);
+            System.out.printf("rows=%d findByTransactionId avg=%.1fus findHistoryBefore avg=%.1fus%n",
+                    seeded, micros, historyMicros);
+        }
+
+        //then
+        assertFlat("lookup", latencies);
+        assertFlat("history page", historyLatencies);
+    }
+
+    private static void assertFlat(String name, List<Double> latencies) {
+        double smallest = latencies.get(0);
+        double largest = latencies.get(latencies.size() - 1);
+        assertTrue(largest < smallest * 10,
+                name + " latency grew from " + smallest + "us to " + largest + "us");
+    }
+
+    private long seed(JdbcTemplate jdbcTemplate, long from, long to, Timestamp now) {
+        for (long start = from; start < to; start += BATCH_SIZE) {
+            long end = Math.min(start + BATCH_SIZE, to);
+            List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+            for (long id = start + 1; id <= end; id++) {
+                rows.add(new Object[]{id, now, now, id, now});
+            }
+            jdbcTemplate.batchUpdate("insert into transaction(id, created_at, updated_at, " +
+                    "transaction_type, transaction_result_type, account_id, amount, " +
+                    "balance_snapshot, transaction_id, transacted_at) " +
+                    "values (?, ?, ?, 'USE', 'S', 1, 1000, 0, ?, ?)", rows);
+        }
+        return to;
+    }
+
+    private double measureLookupMicros(long seeded) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            transactionRepository.findByTransactionId(
+                    TransactionIdConverter.toExternalId(random.nextLong(1, seeded + 1)));
+            accountRepository.findByAccountNumber("1000000000");
+        }
+        return (System.nanoTime() - start) / 1_000.0 / LOOKUPS;
+    }
+
+    private double measureHistoryMicros(long seeded, LocalDateTime transactedAt) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            // 임의 위치의 커서에서 다음 페이지 (뒤쪽 페이지도 앞쪽과 같은 비용이어야 한다)
+            transactionRepository.findHistoryBefore(1L, transactedAt.minusDays(1),
+                    transactedAt, random.nextLong(HISTORY_PAGE_SIZE + 1, seeded + 1),
+                    Arrays.asList(TransactionType.values()),
+                    Arrays.asList(TransactionResultType.values()),
+                    PageRequest.of(0, HISTORY_PAGE_SIZE + 1));
+        }
+        return (System.nanoTime() - start) / 1_000.0 / LOOKUPS;
+    }
+}
@@ -0,0 +1,103 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.config.ConcurrencyProperties;
+import com.zerobase.Account.exception.AccountOverloadedException;
+import com.zerobase.Account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountAdmissionControlTest {
+    private final AtomicLong ticker = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+    private final ConcurrencyProperties concurrencyProperties = new ConcurrencyProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AccountAdmissionControl accountAdmissionControl =
+            new AccountAdmissionControl(concurrencyProperties, meterRegistry, ticker::get);
+
+    @Test
+    void rejectWhenTooManyWaiters() {
+        //given
+        concurrencyProperties.setMaxWaitersPerAccount(2);
+        accountAdmissionControl.enter("1000000008", 5000L);
+        accountAdmissionControl.enter("1000000008", 5000L);
+
+        //when
+        AccountOverloadedException exception = assertThrows(AccountOverloadedException.class,
+                () -> accountAdmissionControl.enter("1000000008", 5000L));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_OVERLOADED, exception.getErrorCode());
+        assertEquals(2, accountAdmissionControl.waiters("1000000008"));
+        assertEquals(1.0, meterRegistry.counter("account.lock.admission.rejected").count());
+    }
+
+    @Test
+    void rejectWhenEstimatedWaitExceedsDeadline() {
+        //given
+        hold("1000000008", 300L);
+        accountAdmissionControl.enter("1000000008", 1000L);
+        accountAdmissionControl.acquired("1000000008");
+        accountAdmissionControl.enter("1000000008", 1000L);
+        accountAdmissionControl.enter("1000000008", 1000L);
+        accountAdmissionControl.enter("1000000008", 1000L);
+
+        //when
+        AccountOverloadedException exception = assertThrows(AccountOverloadedException.class,
+                () -> accountAdmissionControl.enter("1000000008", 1000L));
+
+        //then
+        assertEquals(1200L, exception.getRetryAfterMillis());
+        assertDoesNotThrow(() -> accountAdmissionControl.enter("1000000016", 1000L));
+    }
+
+    @Test
+    void forgetAccountWhenQueueDrains() {
+        //given
+        accountAdmissionControl.enter("1000000008", 1000L);
+        accountAdmissionControl.acquired("1000000008");
+
+        //when
+        accountAdmissionControl.leave("1000000008", true);
+
+        //then
+        assertEquals(0, accountAdmissionControl.waiters("1000000008"));
+    }
+
+    @Test
+    void rejectedEntrantKeepsHolderHoldTime() {
+        //given
+        concurrencyProperties.setMaxWaitersPerAccount(2);
+        accountAdmissionControl.enter("1000000008", 1000L);
+        accountAdmissionControl.enter("1000000008", 1000L);
+        accountAdmissionControl.acquired("1000000008");
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        assertThrows(AccountOverloadedException.class,
+                () -> accountAdmissionControl.enter("1000000008", 1000L));
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(290));
+
+        //when
+        accountAdmissionControl.leave("1000000008", true);
+        accountAdmissionControl.acquired("1000000008");
+        concurrencyProperties.setMaxWaitersPerAccount(10);
+        accountAdmissionControl.enter("1000000008", 1000L);
+
+        //then
+        // 보유자가 나갈 때 300ms 가 반영되어야 한다. (거절된 요청이 10ms 로 가져가지 않음)
+        AccountOverloadedException exception = assertThrows(AccountOverloadedException.class,
+                () -> accountAdmissionControl.enter("1000000008", 500L));
+        assertEquals(600L, exception.getRetryAfterMillis());
+    }
+
+    private void hold(String accountNumber, long millis) {
+        // 평균 보유 시간을 만들기 위해 대기자 하나를 남겨둔 채 한 번 보유한다.
+        accountAdmissionControl.enter(accountNumber, 1000L);
+        accountAdmissionControl.enter(accountNumber, 1000L);
+        accountAdmissionControl.acquired(accountNumber);
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        accountAdmissionControl.leave(accountNumber, true);
+    }
+}
@@ -0,0 +1,70 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.domain.AccountNumberSequence;
+import com.zerobase.Account.repository.AccountNumberSequenceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberAllocatorTest {
+    @Mock
+    private AccountNumberSequenceRepository accountNumberSequenceRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void allocatesFromReservedBlock() {
+        //given
+        AccountNumberSequence sequence = AccountNumberSequence.builder()
+                .name(AccountNumberAllocator.SEQUENCE_NAME)
+                .nextValue(100000000L)
+                .build();
+        given(accountNumberSequenceRepository.findByNameForUpdate(anyString()))
+                .willReturn(Optional.of(sequence));
+        AccountNumberAllocator allocator = new AccountNumberAllocator(
+                accountNumberSequenceRepository, transactionManager, 2);
+
+        //when
+        String first = allocator.allocate();
+        String second = allocator.allocate();
+        String third = allocator.allocate();
+
+        //then
+        verify(accountNumberSequenceRepository, times(2)).findByNameForUpdate(anyString());
+        assertEquals("1000000008", first);
+        assertEquals("1000000016", second);
+        assertEquals("1000000024", third);
+        assertEquals(100000004L, sequence.getNextValue());
+    }
+
+    @Test
+    void checkDigitIsLuhn() {
+        assertEquals("1234567897", AccountNumberAllocator.format(123456789L));
+        assertTrue(AccountNumberAllocator.isValid("1000000016"));
+        assertFalse(AccountNumberAllocator.isValid("1000000017"));
+        assertFalse(AccountNumberAllocator.isValid("100000001a"));
+    }
+
+    @Test
+    void failsWhenSequenceMissing() {
+        //given
+        given(accountNumberSequenceRepository.findByNameForUpdate(anyString()))
+                .willReturn(Optional.empty());
+        AccountNumberAllocator allocator = new AccountNumberAllocator(
+                accountNumberSequenceRepository, transactionManager, 100);
+
+        //then
+        assertThrows(IllegalStateException.class, allocator::allocate);
+    }
+}
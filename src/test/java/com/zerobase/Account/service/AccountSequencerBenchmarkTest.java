@@ -0,0 +1,60 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.config.ConcurrencyProperties;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.zerobase.Account.type.ConcurrencyMode.SEQUENCER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ./gradlew benchmark 로 실행
+ * 핫 계좌 수(1, 10, 10k)에 따른 시퀀서 처리량(ops/sec)을 측정한다.
+ */
+@Tag("benchmark")
+class AccountSequencerBenchmarkTest {
+    private static final int OPERATIONS = 1_000_000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 10_000})
+    void sequencerThroughput(int hotAccounts) {
+        //given
+        ConcurrencyProperties properties = new ConcurrencyProperties();
+        properties.setMode(SEQUENCER);
+        AccountSequencer accountSequencer = new AccountSequencer(properties);
+        ConcurrentHashMap<String, long[]> balances = new ConcurrentHashMap<>();
+        String[] accountNumbers = new String[hotAccounts];
+        for (int i = 0; i < hotAccounts; i++) {
+            accountNumbers[i] = String.valueOf(1_000_000_000L + i);
+            balances.put(accountNumbers[i], new long[]{OPERATIONS});
+        }
+        AtomicLong completed = new AtomicLong();
+
+        //when
+        long start = System.nanoTime();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            String accountNumber = accountNumbers[i % hotAccounts];
+            futures[i] = accountSequencer.submit(accountNumber, () -> {
+                // 레인 내부에서만 접근하므로 동기화 없이 차감
+                balances.get(accountNumber)[0] -= 1;
+                return completed.incrementAndGet();
+            });
+        }
+        CompletableFuture.allOf(futures).join();
+        long elapsedNanos = System.nanoTime() - start;
+        accountSequencer.shutdown();
+
+        //then
+        System.out.printf("sequencer hotAccounts=%d ops=%d throughput=%.0f ops/sec%n",
+                hotAccounts, OPERATIONS, OPERATIONS / (elapsedNanos / 1_000_000_000.0));
+        assertEquals(OPERATIONS, completed.get());
+        long totalBalance = balances.values().stream().mapToLong(balance -> balance[0]).sum();
+        assertEquals((long) OPERATIONS * hotAccounts - OPERATIONS, totalBalance);
+    }
+}
@@ -0,0 +1,155 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.config.ConcurrencyProperties;
+import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.type.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.zerobase.Account.type.ConcurrencyMode.REDIS_LOCK;
+import static com.zerobase.Account.type.ConcurrencyMode.SEQUENCER;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountSequencerTest {
+    private AccountSequencer accountSequencer;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyProperties properties = new ConcurrencyProperties();
+        properties.setMode(SEQUENCER);
+        properties.setSequencerLanes(4);
+        accountSequencer = new AccountSequencer(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountSequencer.shutdown();
+    }
+
+    @Test
+    void sameAccountRunsInSubmissionOrder() {
+        //given
+        List<Integer> executed = new ArrayList<>();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 1000; i++) {
+            int order = i;
+            futures.add(accountSequencer.submit("1000000000", () -> {
+                executed.add(order);
+                return order;
+            }));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        //then
+        assertEquals(1000, executed.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, executed.get(i));
+        }
+    }
+
+    @Test
+    void executeRethrowsTaskException() {
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> accountSequencer.execute("1000000000", () -> {
+                    throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+                }));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, accountException.getErrorCode());
+    }
+
+    @Test
+    void nestedSubmitOnSameLaneRunsInline() throws Exception {
+        //when
+        String result = accountSequencer.execute("1000000000",
+                () -> accountSequencer.execute("1000000000", () -> "nested"));
+
+        //then
+        assertEquals("nested", result);
+    }
+
+    @Test
+    void executeAllOppositeDirectionsWithoutDeadlock() {
+        //given
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 200; i++) {
+            List<String> accountNumbers = i % 2 == 0
+                    ? Arrays.asList("1000000001", "1000000002")
+                    : Arrays.asList("1000000002", "1000000001");
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return accountSequencer.executeAll(accountNumbers, () -> "transferred");
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+
+        //then
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).orTimeout(10, TimeUnit.SECONDS).join();
+        futures.forEach(future -> assertEquals("transferred", future.join()));
+    }
+
+    @Test
+    void executeAllExcludesSingleAccountTasks() throws Exception {
+        //given
+        CountDownLatch transferStarted = new CountDownLatch(1);
+        CountDownLatch releaseTransfer = new CountDownLatch(1);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<String> transfer = CompletableFuture.supplyAsync(() -> {
+            try {
+                return accountSequencer.executeAll(Arrays.asList("1000000001", "1000000002"), () -> {
+                    transferStarted.countDown();
+                    releaseTransfer.await();
+                    events.add("transfer");
+                    return "transfer";
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        transferStarted.await(5, TimeUnit.SECONDS);
+
+        //when
+        CompletableFuture<String> use1 = accountSequencer.submit("1000000001", () -> {
+            events.add("use1");
+            return "use1";
+        });
+        CompletableFuture<String> use2 = accountSequencer.submit("1000000002", () -> {
+            events.add("use2");
+            return "use2";
+        });
+        releaseTransfer.countDown();
+        CompletableFuture.allOf(transfer, use1, use2).orTimeout(5, TimeUnit.SECONDS).join();
+
+        //then
+        assertEquals("transfer", events.get(0));
+    }
+
+    @Test
+    void disabledSequencerRejectsTasks() {
+        //given
+        ConcurrencyProperties properties = new ConcurrencyProperties();
+        properties.setMode(REDIS_LOCK);
+        AccountSequencer disabled = new AccountSequencer(properties);
+
+        //then
+        assertFalse(disabled.isEnabled());
+        assertThrows(IllegalStateException.class,
+                () -> disabled.submit("1000000000", () -> "value"));
+    }
+}
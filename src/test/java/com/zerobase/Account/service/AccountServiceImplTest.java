@@ -1,10 +1,12 @@
 package com.zerobase.Account.service;
 
+import com.zerobase.Account.cache.AccountSnapshotCache;
+import com.zerobase.Account.cache.AccountUserCache;
+import com.zerobase.Account.cache.BalanceProjection;
 import com.zerobase.Account.domain.Account;
 import com.zerobase.Account.domain.AccountUser;
 import com.zerobase.Account.dto.AccountDto;
 import com.zerobase.Account.exception.AccountException;
-import com.zerobase.Account.repository.AccountUserRepository;
 import com.zerobase.Account.repository.AccountRepository;
 import com.zerobase.Account.type.AccountStatus;
 import com.zerobase.Account.type.ErrorCode;
@@ -19,7 +21,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import static com.zerobase.Account.type.AccountStatus.IN_USE;
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,7 +36,13 @@ class AccountServiceImplTest {
     @Mock
     private AccountRepository accountRepository;
     @Mock
-    private AccountUserRepository accountUserRepository;
+    private AccountUserCache accountUserCache;
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+    @Mock
+    private AccountSnapshotCache accountSnapshotCache;
+    @Mock
+    private BalanceProjection balanceProjection;
     @InjectMocks
     private AccountServiceImpl accountServiceImpl;
 
@@ -44,10 +54,10 @@ class AccountServiceImplTest {
         AccountUser poby = AccountUser.builder()
                 .name("poby").build();
         poby.setId(15L);
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(poby));
-        given(accountRepository.findFirstByAccountUserOrderByIdDesc(poby))
-                .willReturn(Optional.empty());
+        given(accountNumberAllocator.allocate())
+                .willReturn("1000000016");
         given(accountRepository.save(any()))
                 .willReturn(Account.builder()
                         .accountUser(poby)
@@ -63,23 +73,21 @@ class AccountServiceImplTest {
         assertEquals(10,captor.getValue().getAccountNumber().length());
     }
 
-    //이미 생성되어 있다면 1씩 더하면서 생성됨
+    //발급기에서 받은 계좌번호로 생성됨
     @Test
     void successCreatAccount(){
         //given
         AccountUser poby = AccountUser.builder()
                 .name("poby").build();
         poby.setId(12L);
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(poby));
-        given(accountRepository.findFirstByAccountUserOrderByIdDesc(poby))
-                .willReturn(Optional.of(Account.builder()
-                                .accountUser(poby)
-                        .accountNumber("1000000012").build()));
+        given(accountNumberAllocator.allocate())
+                .willReturn("1000000024");
         given(accountRepository.save(any()))
                 .willReturn(Account.builder()
                         .accountUser(poby)
-                        .accountNumber("1000000013").build());
+                        .accountNumber("1000000024").build());
 
         ArgumentCaptor<Account> captor = ArgumentCaptor.forClass(Account.class);
         
@@ -88,7 +96,7 @@ class AccountServiceImplTest {
         //then
         verify(accountRepository, times(1)).save(captor.capture());
         assertEquals(account.getUserId(),12L);
-        assertEquals("1000000013",captor.getValue().getAccountNumber());
+        assertEquals("1000000024",captor.getValue().getAccountNumber());
     }
 
     @Test
@@ -97,7 +105,7 @@ class AccountServiceImplTest {
         AccountUser poby = AccountUser.builder()
                 .name("poby").build();
         poby.setId(12L);
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(poby));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(Account.builder()
@@ -121,7 +129,7 @@ class AccountServiceImplTest {
     @DisplayName("해당 유저 없음 - 계좌 해지 실패")
     void deleteAccountFailed_UserNotFound(){
         //given
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.empty());
 
         ArgumentCaptor<Account> captor = ArgumentCaptor.forClass(Account.class);
@@ -141,7 +149,7 @@ class AccountServiceImplTest {
         AccountUser poby = AccountUser.builder()
                 .name("poby").build();
         poby.setId(12L);
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(poby));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.empty());
@@ -166,7 +174,7 @@ class AccountServiceImplTest {
         AccountUser anotherUser = AccountUser.builder()
                 .name("pofy").build();
         anotherUser.setId(13L);
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(poby));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(Account.builder()
@@ -191,7 +199,7 @@ class AccountServiceImplTest {
         AccountUser poby = AccountUser.builder()
                 .name("poby").build();
         poby.setId(12L);
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(poby));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(Account.builder()
@@ -216,7 +224,7 @@ class AccountServiceImplTest {
         AccountUser poby = AccountUser.builder()
                 .name("poby").build();
         poby.setId(12L);
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(poby));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(Account.builder()
@@ -240,7 +248,7 @@ class AccountServiceImplTest {
     @DisplayName("해당 유저 없음 - 계좌 생성 실패")
     void creatAccount_UserNotFound(){
         //given
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.empty());
 
         ArgumentCaptor<Account> captor = ArgumentCaptor.forClass(Account.class);
@@ -254,36 +262,28 @@ class AccountServiceImplTest {
     }
 
     @Test
-    @DisplayName("이미 사용중인 계좌번호임 - 계좌 생성 실패")
-    void createAccount_AccountNumber_Already_Exist() {
+    @DisplayName("계좌 생성 시 계좌번호 중복 확인 조회를 하지 않음")
+    void createAccount_NoAccountNumberLookup() {
         //given
         AccountUser poby = AccountUser.builder()
                 .name("poby").build();
         poby.setId(1L);
 
-        Account existingAccount = Account.builder()
-                .accountUser(poby)
-                .accountStatus(IN_USE)
-                .balance(10000L)
-                .accountNumber("1000000013").build();
-        existingAccount.setId(1L);
-
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(poby));
-
-        given(accountRepository.findFirstByAccountUserOrderByIdDesc(poby))
-                .willReturn(Optional.of(existingAccount));
-
-        // 계좌 번호로 계좌를 조회했을 때 이미 해당 계좌번호로 생성된 계좌가 있음
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(existingAccount));
+        given(accountNumberAllocator.allocate())
+                .willReturn("1000000016");
+        given(accountRepository.save(any()))
+                .willReturn(Account.builder()
+                        .accountUser(poby)
+                        .accountNumber("1000000016").build());
 
         //when
-        AccountException accountException = assertThrows(AccountException.class,
-                () -> accountServiceImpl.createAccount(1L, 1000L));
+        accountServiceImpl.createAccount(1L, 1000L);
 
         //then
-        assertEquals(ErrorCode.ACCOUNTNUMBER_ALREADY_USED, accountException.getErrorCode());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+        verify(accountRepository, never()).findFirstByAccountUserOrderByIdDesc(any());
     }
 
 
@@ -295,7 +295,7 @@ class AccountServiceImplTest {
         AccountUser poby = AccountUser.builder()
                 .name("poby").build();
         poby.setId(12L);
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(poby));
         given(accountRepository.countByAccountUser(any()))
                 .willReturn(10);
@@ -331,7 +331,7 @@ class AccountServiceImplTest {
                         .balance(3000L)
                         .build()
         );
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(poby));
         given(accountRepository.findByAccountUser(any()))
                 .willReturn(accounts);
@@ -345,12 +345,37 @@ class AccountServiceImplTest {
         assertEquals(2000,accountDtos.get(1).getBalance());
         assertEquals("3333333333", accountDtos.get(2).getAccountNumber());
         assertEquals(3000,accountDtos.get(2).getBalance());
+        verify(balanceProjection, times(1)).rebuild(15L, accounts);
+    }
+
+    @Test
+    void getAccountByUserId_FromProjection(){
+        //given
+        AccountUser poby = AccountUser.builder()
+                .name("poby").build();
+        poby.setId(12L);
+        Map<String, Long> balances = new TreeMap<>();
+        balances.put("1111111111", 1000L);
+        balances.put("2222222222", 2000L);
+        given(accountUserCache.findById(anyLong()))
+                .willReturn(Optional.of(poby));
+        given(balanceProjection.get(anyLong()))
+                .willReturn(Optional.of(balances));
+        //when
+        List<AccountDto> accountDtos = accountServiceImpl.getAccountByUserId(12L);
+        //then
+        verify(accountRepository, never()).findByAccountUser(any());
+        assertEquals(2, accountDtos.size());
+        assertEquals("1111111111", accountDtos.get(0).getAccountNumber());
+        assertEquals(1000,accountDtos.get(0).getBalance());
+        assertEquals("2222222222", accountDtos.get(1).getAccountNumber());
+        assertEquals(2000,accountDtos.get(1).getBalance());
     }
 
     @Test
     void failedToGetAccounts(){
         //given
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.empty());
         //when
         AccountException accountException = assertThrows(AccountException.class,
@@ -0,0 +1,81 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.controller.TransactionController;
+import com.zerobase.Account.dto.AccountDto;
+import com.zerobase.Account.dto.UseBalance;
+import com.zerobase.Account.dto.UseBalanceBatch;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ./gradlew benchmark -Dbenchmark.batch.items=5000
+ * 단건 잔액 사용 API 와 일괄 사용 API 의 처리량(items/sec)을 비교한다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class BalanceBatchBenchmarkTest {
+    private static final int ACCOUNTS = 10;
+
+    @Autowired
+    private TransactionController transactionController;
+    @Autowired
+    private AccountService accountService;
+
+    @Test
+    void batchIsMuchFasterThanSingleItems() {
+        //given
+        int items = Integer.getInteger("benchmark.batch.items", 5_000);
+        List<String> singleAccounts = createAccounts(1L);
+        List<String> batchAccounts = createAccounts(2L);
+
+        //when
+        long singleStart = System.nanoTime();
+        for (int i = 0; i < items; i++) {
+            transactionController.useBalance(
+                    new UseBalance.Request(1L, singleAccounts.get(i % ACCOUNTS), 100L));
+        }
+        double singleRate = items / seconds(System.nanoTime() - singleStart);
+
+        long batchStart = System.nanoTime();
+        int succeeded = 0;
+        for (int from = 0; from < items; from += 1_000) {
+            List<UseBalance.Request> requests = new ArrayList<>();
+            for (int i = from; i < Math.min(from + 1_000, items); i++) {
+                requests.add(new UseBalance.Request(2L, batchAccounts.get(i % ACCOUNTS), 100L));
+            }
+            UseBalanceBatch.Response response = transactionController.useBalanceBatch(
+                    new UseBalanceBatch.Request(requests));
+            succeeded += response.getSucceeded();
+        }
+        double batchRate = items / seconds(System.nanoTime() - batchStart);
+
+        System.out.printf("single=%.0f items/s batch=%.0f items/s (x%.1f)%n",
+                singleRate, batchRate, batchRate / singleRate);
+
+        //then
+        assertEquals(items, succeeded);
+        assertTrue(batchRate > singleRate * 10,
+                "batch " + batchRate + " items/s vs single " + singleRate + " items/s");
+    }
+
+    private List<String> createAccounts(Long userId) {
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            AccountDto account = accountService.createAccount(userId, 1_000_000_000L);
+            accountNumbers.add(account.getAccountNumber());
+        }
+        return accountNumbers;
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+}
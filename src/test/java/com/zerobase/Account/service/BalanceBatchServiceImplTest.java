@@ -0,0 +1,102 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.config.ConcurrencyProperties;
+import com.zerobase.Account.dto.UseBalance;
+import com.zerobase.Account.dto.UseBalanceBatch;
+import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.type.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.zerobase.Account.type.TransactionResultType.F;
+import static com.zerobase.Account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceBatchServiceImplTest {
+    @Mock
+    private TransactionService transactionService;
+    @Mock
+    private LockService lockService;
+    @Mock
+    private AccountSequencer accountSequencer;
+    @Spy
+    private ConcurrencyProperties concurrencyProperties = new ConcurrencyProperties();
+
+    @InjectMocks
+    private BalanceBatchServiceImpl balanceBatchService;
+
+    @Test
+    void groupsByAccountAndKeepsRequestOrder() {
+        //given
+        List<UseBalance.Request> requests = Arrays.asList(
+                new UseBalance.Request(1L, "1000000008", 1000L),
+                new UseBalance.Request(2L, "1000000016", 2000L),
+                new UseBalance.Request(1L, "1000000008", 3000L));
+        given(transactionService.useBalances(anyString(), anyList()))
+                .willAnswer(invocation -> succeedAll(invocation.getArgument(1)));
+
+        //when
+        UseBalanceBatch.Response response = balanceBatchService.useBalances(requests);
+
+        //then
+        verify(lockService, times(1)).lock("1000000008");
+        verify(lockService, times(1)).unlock("1000000008");
+        verify(lockService, times(1)).lock("1000000016");
+        verify(transactionService, times(2)).useBalances(anyString(), anyList());
+        assertEquals(3, response.getSucceeded());
+        assertEquals(1000L, response.getResults().get(0).getAmount());
+        assertEquals(2000L, response.getResults().get(1).getAmount());
+        assertEquals(3000L, response.getResults().get(2).getAmount());
+        assertEquals(2, response.getResults().get(2).getIndex());
+    }
+
+    @Test
+    void lockFailureFailsOnlyThatAccount() {
+        //given
+        List<UseBalance.Request> requests = Arrays.asList(
+                new UseBalance.Request(1L, "1000000008", 1000L),
+                new UseBalance.Request(2L, "1000000016", 2000L));
+        given(lockService.lock("1000000008"))
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+        given(transactionService.useBalances(eq("1000000016"), anyList()))
+                .willAnswer(invocation -> succeedAll(invocation.getArgument(1)));
+
+        //when
+        UseBalanceBatch.Response response = balanceBatchService.useBalances(requests);
+
+        //then
+        verify(transactionService, never()).useBalances(eq("1000000008"), anyList());
+        assertEquals(F, response.getResults().get(0).getTransactionResult());
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, response.getResults().get(0).getErrorCode());
+        assertEquals(S, response.getResults().get(1).getTransactionResult());
+        assertEquals(1, response.getFailed());
+    }
+
+    private static List<UseBalanceBatch.Item> succeedAll(List<UseBalance.Request> group) {
+        List<UseBalanceBatch.Item> items = new ArrayList<>();
+        for (UseBalance.Request request : group) {
+            items.add(UseBalanceBatch.Item.builder()
+                    .accountNumber(request.getAccountNumber())
+                    .transactionResult(S)
+                    .amount(request.getAmount())
+                    .build());
+        }
+        return items;
+    }
+}
@@ -0,0 +1,142 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.cache.BalanceProjection;
+import com.zerobase.Account.config.CacheProperties;
+import com.zerobase.Account.dto.AccountBalanceRow;
+import com.zerobase.Account.repository.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceProjectionCheckerTest {
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private BalanceProjection balanceProjection;
+    @Spy
+    private CacheProperties cacheProperties = new CacheProperties();
+    @Mock
+    private ObjectProvider<RedissonClient> redissonClient;
+    @Mock
+    private RedissonClient client;
+    @Mock
+    private RBucket<String> claim;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private BalanceProjectionChecker balanceProjectionChecker;
+
+    @Test
+    void repairMismatchesAcrossPages() {
+        //given
+        givenClaim(true);
+        List<AccountBalanceRow> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            firstPage.add(row(id, id <= 300 ? 12L : 13L, String.valueOf(1000000000L + id), 1000L, 1L));
+        }
+        given(accountRepository.findBalanceRowsAfter(eq(0L), any()))
+                .willReturn(firstPage);
+        given(accountRepository.findBalanceRowsAfter(eq(500L), any()))
+                .willReturn(Collections.singletonList(row(501L, 13L, "1000000501", 2000L, 4L)));
+        given(balanceProjection.repairAll(anyLong(), anyList()))
+                .willReturn(0);
+        given(balanceProjection.repairAll(eq(13L), argThat(rows -> rows.size() == 1)))
+                .willReturn(1);
+
+        //when
+        balanceProjectionChecker.check();
+
+        //then
+        // 페이지마다 사용자별로 한 번씩 (1 페이지: 12, 13 / 2 페이지: 13)
+        verify(balanceProjection, times(3)).repairAll(anyLong(), anyList());
+        assertEquals(1.0, meterRegistry.counter("account.balance_projection.mismatches").count());
+    }
+
+    @Test
+    void skipWhenAnotherNodeClaimedCheck() {
+        //given
+        givenClaim(false);
+
+        //when
+        balanceProjectionChecker.check();
+
+        //then
+        verify(accountRepository, never()).findBalanceRowsAfter(anyLong(), any());
+    }
+
+    @Test
+    void skipWhenDisabled() {
+        //given
+        cacheProperties.getBalanceProjection().setEnabled(false);
+
+        //when
+        balanceProjectionChecker.check();
+
+        //then
+        verify(accountRepository, never()).findBalanceRowsAfter(anyLong(), any());
+    }
+
+    private void givenClaim(boolean claimed) {
+        given(redissonClient.getIfAvailable()).willReturn(client);
+        given(client.<String>getBucket(anyString(), any(Codec.class))).willReturn(claim);
+        given(claim.trySet(anyString(), anyLong(), any(TimeUnit.class))).willReturn(claimed);
+    }
+
+    private static AccountBalanceRow row(Long id, Long userId, String accountNumber,
+                                         Long balance, Long version) {
+        return new AccountBalanceRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public String getAccountNumber() {
+                return accountNumber;
+            }
+
+            @Override
+            public Long getBalance() {
+                return balance;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
+}
@@ -0,0 +1,164 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.config.FailureRecordingProperties;
+import com.zerobase.Account.domain.Transaction;
+import com.zerobase.Account.type.TransactionType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransactionRecorderTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @TempDir
+    Path tempDir;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void syncModeSavesImmediately() {
+        //given
+        FailedTransactionRecorder recorder = recorder(false, 10);
+
+        //when
+        recorder.recordUse("1000000008", 2000L);
+
+        //then
+        verify(transactionService, times(1)).saveFailedTransaction(
+                eq(TransactionType.USE), eq("1000000008"), eq(2000L), any());
+    }
+
+    @Test
+    void overflowSpillsToFileAndReplays() throws Exception {
+        //given
+        FailedTransactionRecorder recorder = recorder(true, 1);
+        Path spillFile = tempDir.resolve("failed.spill");
+
+        //when
+        recorder.recordUse("1000000008", 2000L);
+        recorder.recordCancel("1000000016", 3000L);
+        recorder.flushSpills();
+
+        //then
+        verify(transactionService, never()).saveFailedTransaction(any(), any(), any(), any());
+        assertEquals(1, Files.readAllLines(spillFile).size());
+
+        //given
+        given(transactionService.submitFailedTransaction(any(), any(), any(), any()))
+                .willReturn(CompletableFuture.completedFuture(Transaction.builder().build()));
+
+        //when
+        recorder.replaySpill();
+
+        //then
+        verify(transactionService, times(1)).submitFailedTransaction(
+                eq(TransactionType.CANCEL), eq("1000000016"), eq(3000L), any());
+        assertFalse(Files.exists(spillFile));
+        assertFalse(Files.exists(tempDir.resolve("failed.spill.replaying")));
+    }
+
+    @Test
+    void failedCommitSpillsWithoutBlockingWorker() throws Exception {
+        //given
+        FailedTransactionRecorder recorder = recorder(true, 1);
+        Path spillFile = tempDir.resolve("failed.spill");
+        CompletableFuture<Transaction> pending = new CompletableFuture<>();
+        given(transactionService.submitFailedTransaction(any(), any(), any(), any()))
+                .willReturn(pending);
+        recorder.recordUse("1000000008", 2000L);
+        recorder.recordCancel("1000000016", 3000L);
+        recorder.flushSpills();
+
+        //when
+        recorder.replaySpill();
+
+        //then
+        // 커밋 전에는 spill 내용이 .replaying 에 남아 있어야 한다.
+        Path replayFile = tempDir.resolve("failed.spill.replaying");
+        assertEquals(1, Files.readAllLines(replayFile).size());
+
+        //when
+        pending.completeExceptionally(new IllegalStateException("commit failed"));
+
+        //then
+        verify(transactionService, never()).saveFailedTransaction(any(), any(), any(), any());
+        assertEquals(1, Files.readAllLines(spillFile).size());
+        assertFalse(Files.exists(replayFile));
+    }
+
+    @Test
+    void unreadableLinesAreQuarantined() throws Exception {
+        //given
+        FailedTransactionRecorder recorder = recorder(true, 1);
+        recorder.recordUse("1000000008", 2000L);
+        recorder.recordCancel("1000,00016", 3000L);
+        recorder.flushSpills();
+        Path spillFile = tempDir.resolve("failed.spill");
+        // 쓰는 도중 죽어서 잘린 줄
+        Files.write(spillFile, "{\"type\":\"USE\",\"accountNu\n".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        given(transactionService.submitFailedTransaction(any(), any(), any(), any()))
+                .willReturn(CompletableFuture.completedFuture(Transaction.builder().build()));
+
+        //when
+        recorder.replaySpill();
+
+        //then
+        verify(transactionService, times(1)).submitFailedTransaction(
+                eq(TransactionType.CANCEL), eq("1000,00016"), eq(3000L), any());
+        assertEquals(1, Files.readAllLines(tempDir.resolve("failed.spill.quarantine")).size());
+        assertEquals(1.0, meterRegistry.counter("account.failure_records",
+                "result", "dropped").count());
+    }
+
+    @Test
+    void spillFailureIsCountedNotThrown() {
+        //given
+        FailureRecordingProperties properties = new FailureRecordingProperties();
+        properties.setQueueCapacity(1);
+        // 디렉터리는 파일로 열 수 없으므로 spill 이 실패한다.
+        properties.setSpillFile(tempDir.toString());
+        FailedTransactionRecorder recorder =
+                new FailedTransactionRecorder(transactionService, properties, meterRegistry);
+        recorder.recordUse("1000000008", 2000L);
+
+        //when
+        assertDoesNotThrow(() -> recorder.recordCancel("1000000016", 3000L));
+        recorder.flushSpills();
+
+        //then
+        assertEquals(1.0, meterRegistry.counter("account.failure_records",
+                "result", "dropped").count());
+    }
+
+    private FailedTransactionRecorder recorder(boolean async, int queueCapacity) {
+        FailureRecordingProperties properties = new FailureRecordingProperties();
+        properties.setAsync(async);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setSpillFile(tempDir.resolve("failed.spill").toString());
+        // 워커 스레드는 시작하지 않는다. (큐에 남은 건은 그대로 둠)
+        return new FailedTransactionRecorder(transactionService, properties, meterRegistry);
+    }
+}
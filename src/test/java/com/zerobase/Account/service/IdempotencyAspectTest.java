@@ -0,0 +1,168 @@
+package com.zerobase.Account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.Account.aop.Idempotent;
+import com.zerobase.Account.cache.IdempotencyStore;
+import com.zerobase.Account.config.IdempotencyProperties;
+import com.zerobase.Account.dto.UseBalance;
+import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+
+import static com.zerobase.Account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyAspectTest {
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+    @Mock
+    private MethodSignature methodSignature;
+    @Mock
+    private Idempotent idempotent;
+    @Mock
+    private ObjectProvider<RedissonClient> redissonClient;
+
+    private final MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+    private IdempotencyAspect idempotencyAspect;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        idempotencyAspect = new IdempotencyAspect(
+                new IdempotencyStore(properties, redissonClient, new SimpleMeterRegistry()),
+                properties, new ObjectMapper().findAndRegisterModules());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(httpRequest));
+        lenient().when(proceedingJoinPoint.getSignature()).thenReturn(methodSignature);
+        lenient().when(methodSignature.getName()).thenReturn("useBalance");
+        lenient().when(methodSignature.getReturnType()).thenReturn((Class) UseBalance.Response.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void replayStoredResponse() throws Throwable {
+        //given
+        httpRequest.addHeader(IdempotencyAspect.HEADER, "key-1");
+        given(proceedingJoinPoint.getArgs())
+                .willReturn(new Object[]{new UseBalance.Request(1L, "1000000000", 1000L)});
+        given(proceedingJoinPoint.proceed()).willReturn(response("transactionId"));
+
+        //when
+        UseBalance.Response first = (UseBalance.Response)
+                idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent);
+        UseBalance.Response replayed = (UseBalance.Response)
+                idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent);
+
+        //then
+        verify(proceedingJoinPoint, times(1)).proceed();
+        assertEquals(first.getTransactionId(), replayed.getTransactionId());
+        assertEquals(first.getTransactionAt(), replayed.getTransactionAt());
+        assertEquals(1000L, replayed.getAmount());
+    }
+
+    @Test
+    void proceedWithoutHeader() throws Throwable {
+        //given
+        given(proceedingJoinPoint.proceed()).willReturn(response("transactionId"));
+
+        //when
+        idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent);
+        idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent);
+
+        //then
+        verify(proceedingJoinPoint, times(2)).proceed();
+    }
+
+    @Test
+    void keyReusedWithDifferentRequest() throws Throwable {
+        //given
+        httpRequest.addHeader(IdempotencyAspect.HEADER, "key-1");
+        given(proceedingJoinPoint.getArgs())
+                .willReturn(new Object[]{new UseBalance.Request(1L, "1000000000", 1000L)})
+                .willReturn(new Object[]{new UseBalance.Request(1L, "1000000000", 2000L)});
+        given(proceedingJoinPoint.proceed()).willReturn(response("transactionId"));
+        idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent));
+
+        //then
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, exception.getErrorCode());
+    }
+
+    @Test
+    void retryAfterFailure() throws Throwable {
+        //given
+        httpRequest.addHeader(IdempotencyAspect.HEADER, "key-1");
+        given(proceedingJoinPoint.getArgs())
+                .willReturn(new Object[]{new UseBalance.Request(1L, "1000000000", 1000L)});
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+                .willReturn(response("transactionId"));
+
+        //when
+        assertThrows(AccountException.class,
+                () -> idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent));
+        UseBalance.Response retried = (UseBalance.Response)
+                idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent);
+
+        //then
+        verify(proceedingJoinPoint, times(2)).proceed();
+        assertEquals("transactionId", retried.getTransactionId());
+    }
+
+    @Test
+    void keepKeyWhenOutcomeUnknown() throws Throwable {
+        //given
+        httpRequest.addHeader(IdempotencyAspect.HEADER, "key-1");
+        given(proceedingJoinPoint.getArgs())
+                .willReturn(new Object[]{new UseBalance.Request(1L, "1000000000", 1000L)});
+        // 커밋 이후 (예: 락 해제 중) 실패
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new IllegalStateException("failed after commit"));
+
+        //when
+        assertThrows(IllegalStateException.class,
+                () -> idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent));
+        AccountException exception = assertThrows(AccountException.class,
+                () -> idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent));
+
+        //then
+        assertEquals(ErrorCode.IDEMPOTENT_REQUEST_IN_PROGRESS, exception.getErrorCode());
+        verify(proceedingJoinPoint, times(1)).proceed();
+    }
+
+    private static UseBalance.Response response(String transactionId) {
+        return UseBalance.Response.builder()
+                .accountNumber("1000000000")
+                .transactionResult(S)
+                .transactionId(transactionId)
+                .amount(1000L)
+                .transactionAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.config.LatencyInjectionProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyInjectorTest {
+
+    @Test
+    void noDelayWhenDisabled() {
+        //given
+        LatencyInjectionProperties properties = new LatencyInjectionProperties();
+        properties.getDelays().put("use", 3000L);
+        LatencyInjector latencyInjector = new LatencyInjector(properties);
+
+        //when
+        long start = System.nanoTime();
+        latencyInjector.inject("use");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        //then
+        assertTrue(elapsedMillis < 1000L);
+    }
+
+    @Test
+    void delayOnlyConfiguredEndpoint() {
+        //given
+        LatencyInjectionProperties properties = new LatencyInjectionProperties();
+        properties.setEnabled(true);
+        properties.getDelays().put("use", 200L);
+        LatencyInjector latencyInjector = new LatencyInjector(properties);
+
+        //when
+        long start = System.nanoTime();
+        latencyInjector.inject("use");
+        long useElapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        latencyInjector.inject("cancel");
+        long cancelElapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        //then
+        assertTrue(useElapsedMillis >= 200L);
+        assertTrue(cancelElapsedMillis < 200L);
+    }
+}
@@ -0,0 +1,109 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.type.ExportFormat;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ./gradlew benchmark --tests '*LedgerExportBenchmarkTest' -Dbenchmark.ledger-rows=50000000
+ * 한 계좌의 원장을 export 하면서 초당 건수와 export 중 최대 heap 사용량을 출력한다.
+ * (H2 를 파일 모드로 써서 데이터가 heap 에 올라가지 않게 한다.)
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:file:./build/ledger-export-benchmark;CACHE_SIZE=65536",
+        "account.lock.provider=in-jvm",
+        "account.cache.balance-projection.enabled=false",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class LedgerExportBenchmarkTest {
+    private static final int BATCH_SIZE = 10_000;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private LedgerExportService ledgerExportService;
+
+    @Test
+    void exportRowsPerSecond() throws Exception {
+        //given
+        long totalRows = Long.getLong("benchmark.ledger-rows", 50_000_000L);
+        seed(new JdbcTemplate(dataSource), totalRows);
+        for (ExportFormat format : ExportFormat.values()) {
+            System.gc();
+            List<MemoryPoolMXBean> heapPools = heapPools();
+            heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+            CountingOutputStream out = new CountingOutputStream();
+
+            //when
+            long start = System.nanoTime();
+            long rows = ledgerExportService.exportLedger(1L, "1000000000", format, out);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            //then
+            long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            System.out.printf("format=%s rows=%d %.0f rows/s %.1f MB/s peakHeap=%dMB%n",
+                    format, rows, rows / seconds, out.bytes / seconds / 1_000_000.0,
+                    peakHeap / 1_000_000);
+            assertEquals(totalRows, rows);
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, long totalRows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("insert into account(id, created_at, updated_at, account_user_id, " +
+                        "account_number, account_status, balance, registered_at, version) " +
+                        "values (1, ?, ?, 1, '1000000000', 'IN_USE', 0, ?, 0)",
+                now, now, now);
+        for (long start = 0; start < totalRows; start += BATCH_SIZE) {
+            long end = Math.min(start + BATCH_SIZE, totalRows);
+            List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+            for (long id = start + 1; id <= end; id++) {
+                rows.add(new Object[]{id, now, now, id, now});
+            }
+            jdbcTemplate.batchUpdate("insert into transaction(id, created_at, updated_at, " +
+                    "transaction_type, transaction_result_type, account_id, amount, " +
+                    "balance_snapshot, transaction_id, transacted_at) " +
+                    "values (?, ?, ?, 'USE', 'S', 1, 1000, 0, ?, ?)", rows);
+        }
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> pools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.zerobase.Account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zerobase.Account.dto.AccountBalanceView;
+import com.zerobase.Account.dto.TransactionHistoryRow;
+import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.repository.AccountRepository;
+import com.zerobase.Account.repository.TransactionRepository;
+import com.zerobase.Account.type.ErrorCode;
+import com.zerobase.Account.type.ExportFormat;
+import com.zerobase.Account.type.TransactionResultType;
+import com.zerobase.Account.type.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerExportServiceImplTest {
+    private static final LocalDateTime TRANSACTED_AT = LocalDateTime.of(2024, 3, 1, 12, 30);
+
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @InjectMocks
+    private LedgerExportServiceImpl ledgerExportService;
+
+    @Test
+    void exportNdjson() throws Exception {
+        //given
+        AtomicBoolean closed = new AtomicBoolean();
+        given(transactionRepository.streamLedger(anyLong()))
+                .willReturn(Stream.of(row(1L, TransactionType.USE), row(2L, TransactionType.CANCEL))
+                        .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        //when
+        long rows = ledgerExportService.exportLedger(1L, "1000000012", ExportFormat.NDJSON, out);
+        //then
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(2L, rows);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"accountNumber\":\"1000000012\",\"transactionType\":\"USE\""));
+        assertTrue(lines[1].contains("\"transactionId\":\"transactionId2\""));
+        assertTrue(lines[1].contains("\"transactedAt\":\"2024-03-01T12:30:00\""));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportCsv() throws Exception {
+        //given
+        given(transactionRepository.streamLedger(anyLong()))
+                .willReturn(Stream.of(row(1L, TransactionType.USE)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        //when
+        long rows = ledgerExportService.exportLedger(1L, "1000000012", ExportFormat.CSV, out);
+        //then
+        assertEquals(1L, rows);
+        assertEquals("accountNumber,transactionType,transactionResultType,amount,balanceSnapshot,"
+                        + "transactionId,transactedAt\n"
+                        + "1000000012,USE,S,1000,9000,transactionId1,2024-03-01T12:30\n",
+                out.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    void getAccountId_AccountNotFound() {
+        //given
+        given(accountRepository.findBalanceByAccountNumber(anyString()))
+                .willReturn(Optional.<AccountBalanceView>empty());
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> ledgerExportService.getAccountId("1000000012"));
+        //then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, accountException.getErrorCode());
+    }
+
+    private static TransactionHistoryRow row(Long id, TransactionType transactionType) {
+        return new TransactionHistoryRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public TransactionType getTransactionType() {
+                return transactionType;
+            }
+
+            @Override
+            public TransactionResultType getTransactionResultType() {
+                return TransactionResultType.S;
+            }
+
+            @Override
+            public Long getAmount() {
+                return 1000L;
+            }
+
+            @Override
+            public Long getBalanceSnapshot() {
+                return 9000L;
+            }
+
+            @Override
+            public String getTransactionId() {
+                return "transactionId" + id;
+            }
+
+            @Override
+            public LocalDateTime getTransactedAt() {
+                return TRANSACTED_AT;
+            }
+        };
+    }
+}
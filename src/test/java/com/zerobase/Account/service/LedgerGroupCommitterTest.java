@@ -0,0 +1,163 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.config.LedgerProperties;
+import com.zerobase.Account.domain.Transaction;
+import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.repository.TransactionRepository;
+import com.zerobase.Account.type.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerGroupCommitterTest {
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LedgerGroupCommitter ledgerGroupCommitter;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ledgerGroupCommitter.shutdown();
+    }
+
+    @Test
+    void commitsRowsInGroups() {
+        //given
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        given(transactionRepository.saveAll(anyList()))
+                .willAnswer(invocation -> {
+                    List<Transaction> rows = invocation.getArgument(0);
+                    batchSizes.add(rows.size());
+                    return rows;
+                });
+        ledgerGroupCommitter = start(4, Duration.ofMillis(50));
+
+        //when
+        List<CompletableFuture<Transaction>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(ledgerGroupCommitter.submit(Transaction.builder().amount((long) i).build()));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        //then
+        assertEquals(10, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 4));
+        assertTrue(batchSizes.size() < 10);
+        assertEquals(9L, futures.get(9).join().getAmount());
+    }
+
+    @Test
+    void failedCommitFailsEveryCaller() {
+        //given
+        given(transactionRepository.saveAll(anyList()))
+                .willThrow(new DataIntegrityViolationException("duplicate"));
+        ledgerGroupCommitter = start(4, Duration.ofMillis(1));
+
+        //when
+        CompletableFuture<Transaction> future =
+                ledgerGroupCommitter.submit(Transaction.builder().amount(1L).build());
+
+        //then
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertTrue(exception.getCause() instanceof DataIntegrityViolationException);
+    }
+
+    @Test
+    void writeGivesUpAfterTimeout() {
+        //given
+        CountDownLatch releaseCommit = new CountDownLatch(1);
+        given(transactionRepository.saveAll(anyList()))
+                .willAnswer(invocation -> {
+                    releaseCommit.await();
+                    return invocation.getArgument(0);
+                });
+        ledgerGroupCommitter = start(4, Duration.ofMillis(1), Duration.ofMillis(50));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> ledgerGroupCommitter.write(Transaction.builder().amount(1L).build()));
+        releaseCommit.countDown();
+
+        //then
+        assertEquals(ErrorCode.INTERNAL_SERVER_ERROR, exception.getErrorCode());
+    }
+
+    @Test
+    void writeGivesUpWhenQueueStaysFull() {
+        //given
+        CountDownLatch releaseCommit = new CountDownLatch(1);
+        given(transactionRepository.saveAll(anyList()))
+                .willAnswer(invocation -> {
+                    releaseCommit.await();
+                    return invocation.getArgument(0);
+                });
+        ledgerGroupCommitter = start(1, Duration.ofMillis(1), Duration.ofMillis(50), 1);
+        // 첫 row 는 flusher 가 붙잡고, 둘째 row 가 큐를 채운다.
+        ledgerGroupCommitter.submit(Transaction.builder().amount(1L).build());
+        submitUntilQueued(() -> ledgerGroupCommitter.submit(Transaction.builder().amount(2L).build()));
+
+        //when
+        long startedAt = System.nanoTime();
+        AccountException exception = assertThrows(AccountException.class,
+                () -> ledgerGroupCommitter.write(Transaction.builder().amount(3L).build()));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+        releaseCommit.countDown();
+
+        //then
+        assertEquals(ErrorCode.INTERNAL_SERVER_ERROR, exception.getErrorCode());
+        assertTrue(elapsedMillis < 1000L);
+    }
+
+    private static void submitUntilQueued(Supplier<CompletableFuture<Transaction>> submit) {
+        // flusher 가 첫 row 를 꺼낼 때까지 다시 시도한다.
+        CompletableFuture<Transaction> future = submit.get();
+        while (future.isCompletedExceptionally()) {
+            future = submit.get();
+        }
+    }
+
+    private LedgerGroupCommitter start(int maxRows, Duration maxDelay) {
+        return start(maxRows, maxDelay, Duration.ofSeconds(5));
+    }
+
+    private LedgerGroupCommitter start(int maxRows, Duration maxDelay, Duration writeTimeout) {
+        return start(maxRows, maxDelay, writeTimeout, 8192);
+    }
+
+    private LedgerGroupCommitter start(int maxRows, Duration maxDelay, Duration writeTimeout,
+                                       int queueCapacity) {
+        LedgerProperties ledgerProperties = new LedgerProperties();
+        ledgerProperties.getGroupCommit().setEnabled(true);
+        ledgerProperties.getGroupCommit().setMaxRows(maxRows);
+        ledgerProperties.getGroupCommit().setMaxDelay(maxDelay);
+        ledgerProperties.getGroupCommit().setWriteTimeout(writeTimeout);
+        ledgerProperties.getGroupCommit().setQueueCapacity(queueCapacity);
+        LedgerGroupCommitter committer = new LedgerGroupCommitter(
+                transactionRepository, transactionManager, ledgerProperties, meterRegistry);
+        committer.start();
+        return committer;
+    }
+}
@@ -1,5 +1,8 @@
 package com.zerobase.Account.service;
 
+import com.zerobase.Account.aop.AccountLock;
+import com.zerobase.Account.config.ConcurrencyProperties;
+import com.zerobase.Account.dto.TransferBalance;
 import com.zerobase.Account.dto.UseBalance;
 import com.zerobase.Account.exception.AccountException;
 import com.zerobase.Account.type.ErrorCode;
@@ -9,12 +12,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Arrays;
+
+import static com.zerobase.Account.type.ConcurrencyMode.SEQUENCER;
 import static com.zerobase.Account.type.ErrorCode.ACCOUNT_NOT_FOUND;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -24,6 +36,12 @@ class LockAopAspectTest {
     private LockService lockService;
     @Mock
     private ProceedingJoinPoint proceedingJoinPoint;
+    @Mock
+    private AccountSequencer accountSequencer;
+    @Mock
+    private AccountLock accountLock;
+    @Spy
+    private ConcurrencyProperties concurrencyProperties = new ConcurrencyProperties();
 
     @InjectMocks
     private LockAopAspect lockAopAspect;
@@ -37,13 +55,14 @@ class LockAopAspectTest {
                 ArgumentCaptor.forClass(String.class);
         UseBalance.Request request =
                 new UseBalance.Request(123L, "1234", 1000L);
-        
+        given(accountLock.tryLockTime()).willReturn(5000L);
+
         //when
-        lockAopAspect.aroundMethod(proceedingJoinPoint, request);
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
 
         //then
         verify(lockService, times(1))
-                .lock(lockArgumentCaptor.capture());
+                .lock(lockArgumentCaptor.capture(), eq(5000L));
         verify(lockService, times(1))
                 .unlock(unlockArgumentCaptor.capture());
         assertEquals("1234",lockArgumentCaptor.getValue());
@@ -59,20 +78,71 @@ class LockAopAspectTest {
                 ArgumentCaptor.forClass(String.class);
         UseBalance.Request request =
                 new UseBalance.Request(123L, "54321", 1000L);
+        given(accountLock.tryLockTime()).willReturn(5000L);
         given(proceedingJoinPoint.proceed())
                 .willThrow(new AccountException(ACCOUNT_NOT_FOUND));
 
         //when
         assertThrows(AccountException.class,
-                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, request));
+                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request));
 
 
         //then
         verify(lockService, times(1))
-                .lock(lockArgumentCaptor.capture());
+                .lock(lockArgumentCaptor.capture(), eq(5000L));
         verify(lockService, times(1))
                 .unlock(unlockArgumentCaptor.capture());
         assertEquals("54321",lockArgumentCaptor.getValue());
         assertEquals("54321",unlockArgumentCaptor.getValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    void lockAllForTransfer() throws Throwable {
+        //given
+        TransferBalance.Request request =
+                new TransferBalance.Request(123L, "1000000016", "1000000008", 1000L);
+        given(accountLock.tryLockTime()).willReturn(5000L);
+
+        //when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        //then
+        verify(lockService, times(1))
+                .lockAll(Arrays.asList("1000000016", "1000000008"), 5000L);
+        verify(lockService, times(1))
+                .unlockAll(Arrays.asList("1000000016", "1000000008"));
+        verify(lockService, never()).lock(anyString(), anyLong());
+    }
+
+    @Test
+    void sequencerModeSkipsLock() throws Throwable {
+        //given
+        concurrencyProperties.setMode(SEQUENCER);
+        UseBalance.Request request =
+                new UseBalance.Request(123L, "1234", 1000L);
+
+        //when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        //then
+        verify(accountSequencer, times(1)).execute(eq("1234"), any());
+        verify(lockService, never()).lock(anyString(), anyLong());
+        verify(lockService, never()).unlock(anyString());
+    }
+
+    @Test
+    void sequencerModeRunsTransferThroughAllLanes() throws Throwable {
+        //given
+        concurrencyProperties.setMode(SEQUENCER);
+        TransferBalance.Request request =
+                new TransferBalance.Request(123L, "1000000016", "1000000008", 1000L);
+
+        //when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        //then
+        verify(accountSequencer, times(1))
+                .executeAll(eq(Arrays.asList("1000000016", "1000000008")), any());
+        verify(lockService, never()).lockAll(any(), anyLong());
+    }
+}
@@ -1,36 +1,47 @@
 package com.zerobase.Account.service;
 
+import com.zerobase.Account.config.ConcurrencyProperties;
 import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.lock.LockProvider;
 import com.zerobase.Account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class LockServiceTest {
     @Mock
-    private RedissonClient redissonClient;
+    private LockProvider lockProvider;
 
-    @Mock
-    private RLock rLock;
+    @Spy
+    private AccountAdmissionControl accountAdmissionControl =
+            new AccountAdmissionControl(new ConcurrencyProperties(), new SimpleMeterRegistry());
 
     @InjectMocks
     private LockService lockService;
     @Test
     void successGetLock() throws InterruptedException {
         //given
-        given(redissonClient.getLock(anyString()))
-                .willReturn(rLock);
-        given(rLock.tryLock(anyLong(), anyLong(), any()))
-                .willReturn(true);
+        given(lockProvider.tryLockAll(anyList(), anyLong()))
+                .willReturn(Collections.singletonList(1L));
         //when
         assertDoesNotThrow(()->lockService.lock("123"));
 
@@ -39,15 +50,149 @@ class LockServiceTest {
     @Test
     void failGetLock()throws InterruptedException{
         //given
-        given(redissonClient.getLock(anyString()))
-                .willReturn(rLock);
-        given(rLock.tryLock(anyLong(), anyLong(), any()))
-                .willReturn(false);
+        given(lockProvider.tryLockAll(anyList(), anyLong()))
+                .willReturn(null);
         //when
         AccountException accountException = assertThrows(AccountException.class, () -> lockService.lock("123"));
         //then
         assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, accountException.getErrorCode());
-        
+        assertEquals(0, accountAdmissionControl.waiters("123"));
+
+    }
+
+    @Test
+    void localContenderWaitsWithoutProvider() throws Exception {
+        //given
+        given(lockProvider.tryLockAll(anyList(), anyLong()))
+                .willReturn(Collections.singletonList(1L));
+        lockService.lock("123");
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        //when
+        ExecutionException executionException = assertThrows(ExecutionException.class,
+                () -> executorService.submit(() -> lockService.lock("123")).get());
+        executorService.shutdown();
+
+        //then
+        AccountException accountException = (AccountException) executionException.getCause();
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, accountException.getErrorCode());
+        verify(lockProvider, times(1)).tryLockAll(anyList(), anyLong());
+    }
+
+    @Test
+    void unlockReleasesLocalLock() throws Exception {
+        //given
+        given(lockProvider.tryLockAll(anyList(), anyLong()))
+                .willReturn(Collections.singletonList(1L));
+        lockService.lock("123");
+        lockService.unlock("123");
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        //when
+        String result = executorService.submit(() -> lockService.lock("123")).get();
+        executorService.shutdown();
+
+        //then
+        assertEquals("Lock success", result);
+        verify(lockProvider).unlockAll(Collections.singletonList("123"));
+    }
+
+    @Test
+    void lockSetsFencingToken() {
+        //given
+        given(lockProvider.tryLockAll(anyList(), anyLong()))
+                .willReturn(Collections.singletonList(7L));
+
+        //when
+        lockService.lock("123");
+        Long tokenWhileHeld = FencingTokens.get("123");
+        lockService.unlock("123");
+
+        //then
+        assertEquals(7L, tokenWhileHeld);
+        assertNull(FencingTokens.get("123"));
+    }
+
+    @Test
+    void lockAllInCanonicalOrder() {
+        //given
+        given(lockProvider.tryLockAll(anyList(), anyLong()))
+                .willReturn(Arrays.asList(3L, 4L));
+
+        //when
+        lockService.lockAll(Arrays.asList("1000000016", "1000000008"), 5000L);
+
+        //then
+        verify(lockProvider).tryLockAll(eq(Arrays.asList("1000000008", "1000000016")), anyLong());
+        assertEquals(3L, FencingTokens.get("1000000008"));
+        assertEquals(4L, FencingTokens.get("1000000016"));
+        lockService.unlockAll(Arrays.asList("1000000008", "1000000016"));
+    }
+
+    @Test
+    void unlockFailureDoesNotThrow() throws Exception {
+        //given
+        given(lockProvider.tryLockAll(anyList(), anyLong()))
+                .willReturn(Collections.singletonList(1L));
+        willThrow(new IllegalMonitorStateException("lease expired"))
+                .given(lockProvider).unlockAll(anyList());
+        lockService.lock("123");
+
+        //when
+        assertDoesNotThrow(() -> lockService.unlock("123"));
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        String result = executorService.submit(() -> lockService.lock("123")).get();
+        executorService.shutdown();
+
+        //then
+        assertEquals("Lock success", result);
+        assertNull(FencingTokens.get("123"));
+    }
+
+    @Test
+    void providerFailureReleasesEverything() throws Exception {
+        //given
+        given(lockProvider.tryLockAll(anyList(), anyLong()))
+                .willThrow(new IllegalStateException("redis down"));
+
+        //when
+        AccountException accountException =
+                assertThrows(AccountException.class, () -> lockService.lock("123"));
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<?> retry = executorService.submit(() -> lockService.lock("123"));
+        ExecutionException executionException = assertThrows(ExecutionException.class, retry::get);
+        executorService.shutdown();
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, accountException.getErrorCode());
+        // 로컬 락이 풀려 있어야 다른 스레드도 provider 까지 도달한다.
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+                ((AccountException) executionException.getCause()).getErrorCode());
+        verify(lockProvider, times(2)).tryLockAll(anyList(), anyLong());
+        verify(lockProvider, times(2)).unlockAll(anyList());
+        assertEquals(0, accountAdmissionControl.waiters("123"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void hotAccountDoesNotBlockOtherAccounts() throws Exception {
+        //given
+        given(lockProvider.tryLockAll(anyList(), anyLong()))
+                .willReturn(Collections.singletonList(1L));
+        // "Aa" 와 "BB" 는 hashCode 가 같다.
+        lockService.lock("Aa");
+
+        //when
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        String result = executorService.submit(() -> {
+            String locked = lockService.lock("BB", 100L);
+            lockService.unlock("BB");
+            return locked;
+        }).get();
+        executorService.shutdown();
+        lockService.unlock("Aa");
+
+        //then
+        assertEquals("Lock success", result);
+        assertEquals(0, lockService.localLockCount());
+    }
+}
@@ -0,0 +1,58 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.config.BackfillProperties;
+import com.zerobase.Account.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionAccountBackfillTest {
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Spy
+    private BackfillProperties backfillProperties = new BackfillProperties();
+
+    @InjectMocks
+    private TransactionAccountBackfill transactionAccountBackfill;
+
+    @Test
+    void backfillInIdRanges() {
+        //given
+        backfillProperties.setBatchSize(100);
+        given(transactionRepository.findMaxId()).willReturn(250L);
+        given(transactionRepository.backfillAccount(0L, 100L)).willReturn(100);
+        given(transactionRepository.backfillAccount(100L, 200L)).willReturn(100);
+        given(transactionRepository.backfillAccount(200L, 250L)).willReturn(40);
+
+        //when
+        long updated = transactionAccountBackfill.backfill();
+
+        //then
+        assertEquals(240L, updated);
+        verify(transactionRepository, times(3)).backfillAccount(anyLong(), anyLong());
+    }
+
+    @Test
+    void backfillEmptyTable() {
+        //given
+        given(transactionRepository.findMaxId()).willReturn(null);
+
+        //when
+        long updated = transactionAccountBackfill.backfill();
+
+        //then
+        assertEquals(0L, updated);
+        verify(transactionRepository, never()).backfillAccount(anyLong(), anyLong());
+    }
+}
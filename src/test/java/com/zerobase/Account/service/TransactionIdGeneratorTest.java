@@ -0,0 +1,96 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.domain.TransactionIdConverter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionIdGeneratorTest {
+    private final TransactionIdGenerator transactionIdGenerator = new TransactionIdGenerator(7);
+
+    @Test
+    void idsAreMonotonic() {
+        long last = transactionIdGenerator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long next = transactionIdGenerator.nextId();
+            assertTrue(next > last);
+            last = next;
+        }
+    }
+
+    @Test
+    void idsAreUniqueAcrossThreads() throws Exception {
+        //given
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+
+        //when
+        for (int t = 0; t < 8; t++) {
+            futures.add(executorService.submit(() -> {
+                List<Long> ids = new ArrayList<>();
+                for (int i = 0; i < 50_000; i++) {
+                    ids.add(transactionIdGenerator.nextId());
+                }
+                return ids;
+            }));
+        }
+        Set<Long> unique = new HashSet<>();
+        for (Future<List<Long>> future : futures) {
+            unique.addAll(future.get());
+        }
+        executorService.shutdown();
+
+        //then
+        assertEquals(8 * 50_000, unique.size());
+    }
+
+    @Test
+    void externalIdRoundTrip() {
+        //given
+        long id = transactionIdGenerator.nextId();
+
+        //when
+        String externalId = TransactionIdConverter.toExternalId(id);
+
+        //then
+        assertEquals(16, externalId.length());
+        assertEquals(id, TransactionIdConverter.parseExternalId(externalId));
+    }
+
+    @Test
+    void invalidExternalIdIsNull() {
+        assertNull(TransactionIdConverter.parseExternalId("transactionId"));
+        assertNull(TransactionIdConverter.parseExternalId("zzzzzzzzzzzzzzzz"));
+        assertNull(TransactionIdConverter.parseExternalId(null));
+    }
+
+    @Test
+    void rejectsOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new TransactionIdGenerator(1024));
+    }
+
+    @Test
+    void missingNodeIdFailsFast() {
+        assertThrows(IllegalStateException.class, () -> new TransactionIdGenerator(-1, false));
+    }
+
+    @Test
+    void missingNodeIdUsesZeroForEmbeddedRedis() {
+        //given
+        TransactionIdGenerator generator = new TransactionIdGenerator(-1, true);
+
+        //when
+        long id = generator.nextId();
+
+        //then
+        assertEquals(0, (id >>> 12) & 1023);
+    }
+}
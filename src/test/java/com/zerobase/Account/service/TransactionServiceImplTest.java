@@ -1,34 +1,56 @@
 package com.zerobase.Account.service;
 
+import com.zerobase.Account.cache.AccountSnapshotCache;
+import com.zerobase.Account.cache.AccountUserCache;
+import com.zerobase.Account.cache.BalanceProjection;
+import com.zerobase.Account.config.CacheProperties;
+import com.zerobase.Account.config.ConcurrencyProperties;
 import com.zerobase.Account.domain.Account;
 import com.zerobase.Account.domain.AccountUser;
 import com.zerobase.Account.domain.Transaction;
+import com.zerobase.Account.dto.AccountBalanceView;
 import com.zerobase.Account.dto.TransactionDto;
+import com.zerobase.Account.dto.TransactionHistory;
+import com.zerobase.Account.dto.TransactionHistoryRow;
+import com.zerobase.Account.dto.UseBalance;
+import com.zerobase.Account.dto.UseBalanceBatch;
 import com.zerobase.Account.exception.AccountException;
 import com.zerobase.Account.repository.AccountRepository;
-import com.zerobase.Account.repository.AccountUserRepository;
 import com.zerobase.Account.repository.TransactionRepository;
 import com.zerobase.Account.type.AccountStatus;
 import com.zerobase.Account.type.ErrorCode;
+import com.zerobase.Account.type.TransactionResultType;
+import com.zerobase.Account.type.TransactionType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static com.zerobase.Account.type.AccountStatus.IN_USE;
+import static com.zerobase.Account.type.ConcurrencyMode.ATOMIC;
+import static com.zerobase.Account.type.ConcurrencyMode.OPTIMISTIC;
 import static com.zerobase.Account.type.TransactionResultType.F;
 import static com.zerobase.Account.type.TransactionResultType.S;
 import static com.zerobase.Account.type.TransactionType.CANCEL;
+import static com.zerobase.Account.type.TransactionType.TRANSFER_IN;
+import static com.zerobase.Account.type.TransactionType.TRANSFER_OUT;
 import static com.zerobase.Account.type.TransactionType.USE;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -40,7 +62,23 @@ class TransactionServiceImplTest {
     @Mock
     private AccountRepository accountRepository;
     @Mock
-    private AccountUserRepository accountUserRepository;
+    private AccountUserCache accountUserCache;
+    @Spy
+    private ConcurrencyProperties concurrencyProperties = new ConcurrencyProperties();
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy
+    private TransactionIdGenerator transactionIdGenerator = new TransactionIdGenerator(1);
+    private final CacheProperties cacheProperties = new CacheProperties();
+    @Mock
+    private LedgerGroupCommitter ledgerGroupCommitter;
+    @Mock
+    private BalanceProjection balanceProjection;
+    @Mock
+    private LockService lockService;
+    @Spy
+    private AccountSnapshotCache accountSnapshotCache =
+            new AccountSnapshotCache(cacheProperties, new SimpleMeterRegistry());
 
     @InjectMocks
     private TransactionServiceImpl transactionServiceImpl;
@@ -56,13 +94,14 @@ class TransactionServiceImplTest {
                 .accountStatus(IN_USE)
                 .balance(10000L)
                 .accountNumber("1000000012").build();
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(user));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
         given(transactionRepository.save(any()))
                 .willReturn(Transaction.builder()
                         .account(account)
+                        .accountNumber(account.getAccountNumber())
                         .transactionType(USE)
                         .transactionResultType(S)
                         .transactionId("transactionId")
@@ -86,11 +125,133 @@ class TransactionServiceImplTest {
         assertEquals(USE, transactionDto.getTransactionType());
     }
 
+    @Test
+    @DisplayName("lease 가 만료된 락 보유자의 잔액 사용 실패")
+    void useBalance_StaleFencingToken() {
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("poby").build();
+        user.setId(12L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .fencingToken(10L)
+                .accountNumber("1000000012").build();
+        given(accountUserCache.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        FencingTokens.set("1000000012", 9L);
+
+        //when
+        AccountException accountException;
+        try {
+            accountException = assertThrows(AccountException.class,
+                    () -> transactionServiceImpl.useBalance(12L, "1000000012", 1000L));
+        } finally {
+            FencingTokens.clear("1000000012");
+        }
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, accountException.getErrorCode());
+        assertEquals(10000L, account.getBalance());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("락 카운터가 유실되어 토큰이 뒤처지면 다시 발급받아 잔액 사용")
+    void useBalance_FencingCounterReset() {
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("poby").build();
+        user.setId(12L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .fencingToken(100L)
+                .accountNumber("1000000012").build();
+        given(accountUserCache.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(lockService.reissueFencingToken("1000000012", 100L))
+                .willReturn(101L);
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        FencingTokens.set("1000000012", 1L);
+
+        //when
+        try {
+            transactionServiceImpl.useBalance(12L, "1000000012", 1000L);
+        } finally {
+            FencingTokens.clear("1000000012");
+        }
+
+        //then
+        assertEquals(101L, account.getFencingToken());
+        assertEquals(9000L, account.getBalance());
+    }
+
+    @Test
+    void successTransferBalance() {
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("poby").build();
+        user.setId(12L);
+        Account from = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000008").build();
+        Account to = Account.builder()
+                .accountUser(AccountUser.builder().name("pororo").build())
+                .accountStatus(IN_USE)
+                .balance(500L)
+                .accountNumber("1000000016").build();
+        given(accountUserCache.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber("1000000008"))
+                .willReturn(Optional.of(from));
+        given(accountRepository.findByAccountNumber("1000000016"))
+                .willReturn(Optional.of(to));
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        List<TransactionDto> transactions = transactionServiceImpl.transferBalance(
+                12L, "1000000008", "1000000016", 3000L);
+
+        //then
+        verify(transactionRepository, times(1)).saveAll(captor.capture());
+        assertEquals(7000L, from.getBalance());
+        assertEquals(3500L, to.getBalance());
+        assertEquals(TRANSFER_OUT, captor.getValue().get(0).getTransactionType());
+        assertEquals(7000L, captor.getValue().get(0).getBalanceSnapshot());
+        assertEquals(TRANSFER_IN, captor.getValue().get(1).getTransactionType());
+        assertEquals(3500L, captor.getValue().get(1).getBalanceSnapshot());
+        assertEquals("1000000008", transactions.get(0).getAccountNumber());
+        assertEquals("1000000016", transactions.get(1).getAccountNumber());
+    }
+
+    @Test
+    void transferBalance_SameAccount() {
+        //given
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionServiceImpl.transferBalance(
+                        12L, "1000000008", "1000000008", 3000L));
+
+        //then
+        assertEquals(ErrorCode.TRANSFER_TO_SAME_ACCOUNT, accountException.getErrorCode());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+    }
+
     @Test
     @DisplayName("해당 유저 없음 - 계좌 해지 실패")
     void UseBalance_UserNotFound(){
         //given
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.empty());
 
         ArgumentCaptor<Account> captor = ArgumentCaptor.forClass(Account.class);
@@ -110,7 +271,7 @@ class TransactionServiceImplTest {
         AccountUser poby = AccountUser.builder()
                 .name("poby").build();
         poby.setId(12L);
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(poby));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.empty());
@@ -135,7 +296,7 @@ class TransactionServiceImplTest {
         AccountUser anotherUser = AccountUser.builder()
                 .name("pofy").build();
         anotherUser.setId(13L);
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(poby));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(Account.builder()
@@ -159,7 +320,7 @@ class TransactionServiceImplTest {
         AccountUser poby = AccountUser.builder()
                 .name("poby").build();
         poby.setId(12L);
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(poby));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(Account.builder()
@@ -188,7 +349,7 @@ class TransactionServiceImplTest {
                 .accountStatus(IN_USE)
                 .balance(100L)
                 .accountNumber("1000000012").build();
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(user));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
@@ -212,7 +373,7 @@ class TransactionServiceImplTest {
                 .accountStatus(IN_USE)
                 .balance(100_000_0000L) // 10억
                 .accountNumber("1000000012").build();
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(user));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
@@ -236,7 +397,7 @@ class TransactionServiceImplTest {
                 .accountStatus(IN_USE)
                 .balance(100_000_0000L) // 10억
                 .accountNumber("1000000012").build();
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(user));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
@@ -265,6 +426,7 @@ class TransactionServiceImplTest {
         given(transactionRepository.save(any()))
                 .willReturn(Transaction.builder()
                         .account(account)
+                        .accountNumber(account.getAccountNumber())
                         .transactionType(USE)
                         .transactionResultType(S)
                         .transactionId("transactionId")
@@ -298,6 +460,7 @@ class TransactionServiceImplTest {
                 .accountNumber("1000000012").build();
         Transaction transaction = Transaction.builder()
                 .account(account)
+                .accountNumber(account.getAccountNumber())
                 .transactionType(USE)
                 .transactionResultType(S)
                 .transactionId("transactionId")
@@ -312,6 +475,7 @@ class TransactionServiceImplTest {
         given(transactionRepository.save(any()))
                 .willReturn(Transaction.builder()
                         .account(account)
+                        .accountNumber(account.getAccountNumber())
                         .transactionType(CANCEL)
                         .transactionResultType(S)
                         .transactionId("transactionId")
@@ -389,6 +553,7 @@ class TransactionServiceImplTest {
         accountNotUse.setId(2L);
         Transaction transaction = Transaction.builder()
                 .account(account)
+                .accountNumber(account.getAccountNumber())
                 .transactionType(USE)
                 .transactionResultType(S)
                 .transactionId("transactionId")
@@ -425,6 +590,7 @@ class TransactionServiceImplTest {
 
         Transaction transaction = Transaction.builder()
                 .account(account)
+                .accountNumber(account.getAccountNumber())
                 .transactionType(USE)
                 .transactionResultType(S)
                 .transactionId("transactionId")
@@ -461,6 +627,7 @@ class TransactionServiceImplTest {
 
         Transaction transaction = Transaction.builder()
                 .account(account)
+                .accountNumber(account.getAccountNumber())
                 .transactionType(USE)
                 .transactionResultType(S)
                 .transactionId("transactionId")
@@ -496,6 +663,7 @@ class TransactionServiceImplTest {
 
         Transaction transaction = Transaction.builder()
                 .account(account)
+                .accountNumber(account.getAccountNumber())
                 .transactionType(USE)
                 .transactionResultType(S)
                 .transactionId("transactionId")
@@ -514,6 +682,72 @@ class TransactionServiceImplTest {
         assertEquals("transactionId", transactionDto.getTransactionId());
     }
 
+    @Test
+    @DisplayName("거래 조회 - 계좌를 읽지 않고 거래 row 의 계좌번호로 응답")
+    void queryTransaction_FromTransactionRow(){
+        //given
+        Transaction transaction = Transaction.builder()
+                .accountNumber("1000000012")
+                .ownerId(12L)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now())
+                .amount(CANCEL_AMOUNT)
+                .balanceSnapshot(9000L)
+                .build();
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+
+        //when
+        TransactionDto transactionDto = transactionServiceImpl.queryTransaction("transactionId");
+
+        //then
+        assertEquals("1000000012", transactionDto.getAccountNumber());
+        assertEquals(CANCEL_AMOUNT, transactionDto.getAmount());
+    }
+
+    @Test
+    @DisplayName("백필 전 거래 - 계좌에서 계좌번호와 소유자를 채워 취소")
+    void cancelBalance_LegacyTransactionRow(){
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("poby").build();
+        user.setId(12L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012").build();
+        account.setId(1L);
+        Transaction transaction = Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now())
+                .amount(CANCEL_AMOUNT)
+                .balanceSnapshot(9000L)
+                .build();
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findById(1L))
+                .willReturn(Optional.of(account));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        TransactionDto transactionDto = transactionServiceImpl.cancelBalance("transactionId", "1000000012", CANCEL_AMOUNT);
+
+        //then
+        assertEquals("1000000012", transaction.getAccountNumber());
+        assertEquals(12L, transaction.getOwnerId());
+        assertEquals("1000000012", transactionDto.getAccountNumber());
+        assertEquals(10000L + CANCEL_AMOUNT, account.getBalance());
+    }
+
     @Test
     @DisplayName("해당 거래 없음 - 거래 조회 실패")
     void queryTransaction_TransactionNotFound(){
@@ -528,4 +762,457 @@ class TransactionServiceImplTest {
         //then
         assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, accountException.getErrorCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("거래 내역 조회 - 다음 페이지가 있으면 마지막 거래로 커서 생성")
+    void queryTransactionHistory_NextCursor() {
+        //given
+        LocalDateTime now = LocalDateTime.now();
+        given(accountRepository.findBalanceByAccountNumber(anyString()))
+                .willReturn(Optional.of(accountView(1L)));
+        given(transactionRepository.findHistoryBefore(anyLong(), any(), any(), anyLong(),
+                anyCollection(), anyCollection(), any()))
+                .willReturn(Arrays.asList(
+                        historyRow(30L, now),
+                        historyRow(20L, now),
+                        historyRow(10L, now.minusMinutes(1))));
+        //when
+        TransactionHistory.Page page = transactionServiceImpl.queryTransactionHistory("1000000012",
+                TransactionHistory.Condition.builder()
+                        .transactionTypes(Arrays.asList(USE))
+                        .size(2)
+                        .build());
+        //then
+        assertEquals(2, page.getTransactions().size());
+        assertEquals("1000000012", page.getTransactions().get(0).getAccountNumber());
+        TransactionHistory.Cursor cursor = TransactionHistory.Cursor.decode(page.getNextCursor());
+        assertEquals(20L, cursor.getId());
+        assertEquals(now, cursor.getTransactedAt());
+        verify(transactionRepository).findHistoryBefore(eq(1L), any(), any(), eq(Long.MAX_VALUE),
+                eq(Arrays.asList(USE)), eq(Arrays.asList(TransactionResultType.values())),
+                eq(PageRequest.of(0, 3)));
+    }
+
+    @Test
+    @DisplayName("거래 내역 조회 - 커서 다음부터 조회, 마지막 페이지")
+    void queryTransactionHistory_FromCursor() {
+        //given
+        LocalDateTime now = LocalDateTime.now();
+        given(accountRepository.findBalanceByAccountNumber(anyString()))
+                .willReturn(Optional.of(accountView(1L)));
+        given(transactionRepository.findHistoryBefore(anyLong(), any(), any(), anyLong(),
+                anyCollection(), anyCollection(), any()))
+                .willReturn(Arrays.asList(historyRow(10L, now.minusMinutes(1))));
+        //when
+        TransactionHistory.Page page = transactionServiceImpl.queryTransactionHistory("1000000012",
+                TransactionHistory.Condition.builder()
+                        .cursor(new TransactionHistory.Cursor(now, 20L).encode())
+                        .size(2)
+                        .build());
+        //then
+        assertEquals(1, page.getTransactions().size());
+        assertNull(page.getNextCursor());
+        verify(transactionRepository).findHistoryBefore(eq(1L), any(), eq(now), eq(20L),
+                anyCollection(), anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("잘못된 커서 - 거래 내역 조회 실패")
+    void queryTransactionHistory_InvalidCursor() {
+        //given
+        given(accountRepository.findBalanceByAccountNumber(anyString()))
+                .willReturn(Optional.of(accountView(1L)));
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionServiceImpl.queryTransactionHistory("1000000012",
+                        TransactionHistory.Condition.builder()
+                                .cursor("not-a-cursor")
+                                .size(20)
+                                .build()));
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, accountException.getErrorCode());
+        verify(transactionRepository, never()).findHistoryBefore(anyLong(), any(), any(), anyLong(),
+                anyCollection(), anyCollection(), any());
+    }
+
+    private static AccountBalanceView accountView(Long id) {
+        return new AccountBalanceView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getBalance() {
+                return 0L;
+            }
+
+            @Override
+            public Long getVersion() {
+                return 0L;
+            }
+        };
+    }
+
+    private static TransactionHistoryRow historyRow(Long id, LocalDateTime transactedAt) {
+        return new TransactionHistoryRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public TransactionType getTransactionType() {
+                return USE;
+            }
+
+            @Override
+            public TransactionResultType getTransactionResultType() {
+                return S;
+            }
+
+            @Override
+            public Long getAmount() {
+                return 1000L;
+            }
+
+            @Override
+            public Long getBalanceSnapshot() {
+                return 9000L;
+            }
+
+            @Override
+            public String getTransactionId() {
+                return "transactionId" + id;
+            }
+
+            @Override
+            public LocalDateTime getTransactedAt() {
+                return transactedAt;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("낙관적 모드 - 충돌 후 재시도하여 잔액 사용 성공")
+    void optimisticUseBalance_RetryAfterConflict() {
+        //given
+        concurrencyProperties.setMode(OPTIMISTIC);
+        AccountUser user = AccountUser.builder()
+                .name("poby").build();
+        user.setId(12L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .version(3L)
+                .accountNumber("1000000012").build();
+        account.setId(1L);
+        given(accountUserCache.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountRepository.useBalanceIfVersionMatches(anyLong(), anyLong(), anyLong()))
+                .willReturn(0, 1);
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        //when
+        TransactionDto transactionDto = transactionServiceImpl.useBalance(1L, "1000000012", 2000L);
+
+        //then
+        verify(accountRepository, times(2)).findByAccountNumber(anyString());
+        verify(transactionRepository, times(1)).save(captor.capture());
+        assertEquals(8000L, captor.getValue().getBalanceSnapshot());
+        assertEquals(S, transactionDto.getTransactionResultType());
+        assertEquals(1.0, meterRegistry.summary("account.balance.optimistic.retries").totalAmount());
+    }
+
+    @Test
+    @DisplayName("낙관적 모드 - 재시도 횟수 초과 시 실패")
+    void optimisticUseBalance_RetriesExhausted() {
+        //given
+        concurrencyProperties.setMode(OPTIMISTIC);
+        concurrencyProperties.setOptimisticMaxRetries(2);
+        AccountUser user = AccountUser.builder()
+                .name("poby").build();
+        user.setId(12L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .version(3L)
+                .accountNumber("1000000012").build();
+        account.setId(1L);
+        given(accountUserCache.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountRepository.useBalanceIfVersionMatches(anyLong(), anyLong(), anyLong()))
+                .willReturn(0);
+
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionServiceImpl.useBalance(1L, "1000000012", 2000L));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, accountException.getErrorCode());
+        verify(accountRepository, times(3)).useBalanceIfVersionMatches(anyLong(), anyLong(), anyLong());
+        verify(transactionRepository, never()).save(any());
+        assertEquals(1.0, meterRegistry.counter("account.balance.optimistic.exhausted").count());
+    }
+
+    @Test
+    @DisplayName("낙관적 모드 - 캐시된 스냅샷으로 검증하여 계좌 조회 없이 성공")
+    void optimisticUseBalance_UsesSnapshot() {
+        //given
+        concurrencyProperties.setMode(OPTIMISTIC);
+        AccountUser user = AccountUser.builder()
+                .name("poby").build();
+        user.setId(12L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .version(3L)
+                .accountNumber("1000000012").build();
+        account.setId(1L);
+        accountSnapshotCache.load(account);
+        given(accountUserCache.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.useBalanceIfVersionMatches(1L, 3L, 2000L))
+                .willReturn(1);
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        //when
+        transactionServiceImpl.useBalance(1L, "1000000012", 2000L);
+
+        //then
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+        verify(transactionRepository, times(1)).save(captor.capture());
+        assertEquals(8000L, captor.getValue().getBalanceSnapshot());
+        assertEquals(8000L, accountSnapshotCache.get("1000000012").get().getBalance());
+        assertEquals(4L, accountSnapshotCache.get("1000000012").get().getVersion());
+    }
+
+    @Test
+    @DisplayName("낙관적 모드 - 스냅샷 version 이 오래되면 DB 에서 다시 읽음")
+    void optimisticUseBalance_StaleSnapshotFallsBackToDb() {
+        //given
+        concurrencyProperties.setMode(OPTIMISTIC);
+        AccountUser user = AccountUser.builder()
+                .name("poby").build();
+        user.setId(12L);
+        Account stale = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .version(2L)
+                .accountNumber("1000000012").build();
+        stale.setId(1L);
+        accountSnapshotCache.load(stale);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(5000L)
+                .version(3L)
+                .accountNumber("1000000012").build();
+        account.setId(1L);
+        given(accountUserCache.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.useBalanceIfVersionMatches(1L, 2L, 2000L))
+                .willReturn(0);
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountRepository.useBalanceIfVersionMatches(1L, 3L, 2000L))
+                .willReturn(1);
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        //when
+        transactionServiceImpl.useBalance(1L, "1000000012", 2000L);
+
+        //then
+        verify(accountRepository, times(1)).findByAccountNumber(anyString());
+        verify(transactionRepository, times(1)).save(captor.capture());
+        assertEquals(3000L, captor.getValue().getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("그룹 커밋 - 실패 거래는 그룹 커밋으로 기록")
+    void saveFailedUseTransaction_GroupCommit() {
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("poby").build();
+        user.setId(12L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012").build();
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(ledgerGroupCommitter.isEnabled())
+                .willReturn(true);
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        //when
+        transactionServiceImpl.saveFailedUseTransaction("1000000012", 2000L);
+
+        //then
+        verify(ledgerGroupCommitter, times(1)).write(captor.capture());
+        verify(transactionRepository, never()).save(any());
+        assertEquals(F, captor.getValue().getTransactionResultType());
+        assertEquals(10000L, captor.getValue().getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("relaxed 모드 - 실패 거래는 스냅샷 잔액으로 저장")
+    void saveFailedUseTransaction_RelaxedUsesSnapshot() {
+        //given
+        cacheProperties.setSnapshotConsistency(CacheProperties.SnapshotConsistency.RELAXED);
+        AccountUser user = AccountUser.builder()
+                .name("poby").build();
+        user.setId(12L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .version(3L)
+                .accountNumber("1000000012").build();
+        account.setId(1L);
+        accountSnapshotCache.load(account);
+        given(accountRepository.getReferenceById(1L))
+                .willReturn(account);
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        //when
+        transactionServiceImpl.saveFailedUseTransaction("1000000012", 2000L);
+
+        //then
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+        verify(transactionRepository, times(1)).save(captor.capture());
+        assertEquals(10000L, captor.getValue().getBalanceSnapshot());
+        assertEquals(F, captor.getValue().getTransactionResultType());
+    }
+
+    @Test
+    @DisplayName("일괄 사용 - 계좌를 한 번 읽고 건별 결과와 거래를 한 번에 저장")
+    void useBalances() {
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("poby").build();
+        user.setId(12L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012").build();
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountUserCache.findById(anyLong()))
+                .willReturn(Optional.of(user));
+
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        List<UseBalanceBatch.Item> items = transactionServiceImpl.useBalances("1000000012",
+                Arrays.asList(
+                        new UseBalance.Request(12L, "1000000012", 6000L),
+                        new UseBalance.Request(12L, "1000000012", 6000L),
+                        new UseBalance.Request(12L, "1000000012", 4000L)));
+
+        //then
+        verify(accountRepository, times(1)).findByAccountNumber(anyString());
+        verify(transactionRepository, times(1)).saveAll(captor.capture());
+        verify(transactionRepository, never()).save(any());
+        assertEquals(3, captor.getValue().size());
+        assertEquals(S, items.get(0).getTransactionResult());
+        assertEquals(F, items.get(1).getTransactionResult());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, items.get(1).getErrorCode());
+        assertEquals(S, items.get(2).getTransactionResult());
+        assertEquals(0L, account.getBalance());
+        assertEquals(0L, captor.getValue().get(2).getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("원자적 모드 - 엔티티 로딩 없이 잔액 사용 성공")
+    void atomicUseBalance() {
+        //given
+        concurrencyProperties.setMode(ATOMIC);
+        given(accountRepository.useBalanceIfEligible(anyString(), anyLong(), anyLong()))
+                .willReturn(1);
+        given(accountRepository.findBalanceByAccountNumber(anyString()))
+                .willReturn(Optional.of(new AccountBalanceView() {
+                    @Override
+                    public Long getId() {
+                        return 1L;
+                    }
+
+                    @Override
+                    public Long getBalance() {
+                        return 8000L;
+                    }
+
+                    @Override
+                    public Long getVersion() {
+                        return 3L;
+                    }
+                }));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        //when
+        TransactionDto transactionDto = transactionServiceImpl.useBalance(1L, "1000000012", 2000L);
+
+        //then
+        verify(accountUserCache, never()).findById(anyLong());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+        verify(transactionRepository, times(1)).save(captor.capture());
+        assertEquals(8000L, captor.getValue().getBalanceSnapshot());
+        assertEquals("1000000012", transactionDto.getAccountNumber());
+        verify(balanceProjection, times(1)).update(1L, "1000000012", 8000L, 3L);
+        assertEquals(2000L, transactionDto.getAmount());
+        assertEquals(USE, transactionDto.getTransactionType());
+    }
+
+    @Test
+    @DisplayName("원자적 모드 - 조건 불일치 시 실패 원인 응답")
+    void atomicUseBalance_ExceedBalance() {
+        //given
+        concurrencyProperties.setMode(ATOMIC);
+        AccountUser user = AccountUser.builder()
+                .name("poby").build();
+        user.setId(12L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(100L)
+                .accountNumber("1000000012").build();
+        given(accountRepository.useBalanceIfEligible(anyString(), anyLong(), anyLong()))
+                .willReturn(0);
+        given(accountUserCache.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionServiceImpl.useBalance(12L, "1000000012", 1000L));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, accountException.getErrorCode());
+        verify(transactionRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,91 @@
+package com.zerobase.Account.service;
+
+import com.zerobase.Account.controller.TransactionController;
+import com.zerobase.Account.dto.AccountDto;
+import com.zerobase.Account.dto.TransferBalance;
+import com.zerobase.Account.exception.AccountException;
+import com.zerobase.Account.repository.AccountRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ./gradlew benchmark -Dbenchmark.transfer.threads=32 -Dbenchmark.transfer.count=5000
+ * 적은 수의 계좌 사이에서 임의의 쌍으로 양방향 이체를 동시에 보낸다.
+ * 교착 상태 없이 제한 시간 안에 끝나야 하고, 전체 잔액 합계는 그대로여야 한다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class TransferBenchmarkTest {
+    // BalanceBatchBenchmarkTest 가 같은 컨텍스트에서 사용자 1, 2 의 계좌를 만든다.
+    private static final long USER_ID = 3L;
+    private static final int ACCOUNTS = 8;
+    private static final long INITIAL_BALANCE = 1_000_000_000L;
+
+    @Autowired
+    private TransactionController transactionController;
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void randomPairTransfersWithoutDeadlock() throws InterruptedException {
+        //given
+        int threads = Integer.getInteger("benchmark.transfer.threads", 32);
+        int transfers = Integer.getInteger("benchmark.transfer.count", 5_000);
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            AccountDto account = accountService.createAccount(USER_ID, INITIAL_BALANCE);
+            accountNumbers.add(account.getAccountNumber());
+        }
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        //when
+        long start = System.nanoTime();
+        for (int i = 0; i < transfers; i++) {
+            executorService.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int from = random.nextInt(ACCOUNTS);
+                int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                try {
+                    transactionController.transferBalance(new TransferBalance.Request(
+                            USER_ID, accountNumbers.get(from), accountNumbers.get(to), 100L));
+                    succeeded.incrementAndGet();
+                } catch (AccountException e) {
+                    rejected.incrementAndGet();
+                }
+            });
+        }
+        executorService.shutdown();
+        boolean finished = executorService.awaitTermination(2, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("threads=%d transfers=%d succeeded=%d rejected=%d %.0f transfers/s%n",
+                threads, transfers, succeeded.get(), rejected.get(), succeeded.get() / seconds);
+
+        //then
+        assertTrue(finished, "transfers did not finish (deadlock?)");
+        long total = 0;
+        for (String accountNumber : accountNumbers) {
+            total += accountRepository.findByAccountNumber(accountNumber).get().getBalance();
+        }
+        assertEquals(ACCOUNTS * INITIAL_BALANCE, total);
+        assertTrue(succeeded.get() > transfers / 2,
+                "only " + succeeded.get() + " of " + transfers + " transfers succeeded");
+    }
+}